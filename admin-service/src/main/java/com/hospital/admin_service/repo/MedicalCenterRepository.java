@@ -7,6 +7,7 @@
     import org.springframework.data.repository.query.Param;
 
     import jakarta.persistence.LockModeType;
+    import java.time.Instant;
     import java.util.Optional;
     import java.util.List;
 
@@ -33,4 +34,6 @@
         Optional<MedicalCenter> lockById(@Param("id") Long id);
 
         boolean existsById(@Param("id") Long id);
+
+        List<MedicalCenter> findByUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(Instant since);
     }
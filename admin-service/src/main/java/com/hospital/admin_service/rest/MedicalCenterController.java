@@ -22,6 +22,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 
 import java.net.URI;
+import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -89,6 +90,18 @@ public class MedicalCenterController {
                 .toList();
     }
 
+    @RequireRole("ADMIN")
+    @GetMapping("/changes")
+    @Operation(summary = "Listar centros médicos modificados desde una fecha",
+            description = "Devuelve los centros creados o actualizados desde la fecha indicada, ordenados por fecha de actualización. Permite a otros servicios refrescar copias locales de forma incremental.")
+    public List<MedicalCenterRead> changedSince(
+            @Parameter(description = "Fecha (UTC, ISO-8601) desde la que se buscan cambios", example = "2025-03-05T09:15:00Z")
+            @RequestParam Instant since) {
+        return readService.findChangedSince(since).stream()
+                .map(mapper::toRead)
+                .toList();
+    }
+
     /* =========================
      *          WRITING
      * ========================= */
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
 import java.util.List;
 
 @Service
@@ -40,6 +41,10 @@ public class MedicalCenterReadService {
         return includeDeleted ? repository.findAllByIdsIncludingDeleted(ids) : repository.findAllById(ids);
     }
 
+    public List<MedicalCenter> findChangedSince(Instant since) {
+        return repository.findByUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(since);
+    }
+
     public boolean existsById(Long id) {
         return repository.existsById(id);
     }
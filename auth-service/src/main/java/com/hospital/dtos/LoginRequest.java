@@ -0,0 +1,19 @@
+package com.hospital.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Schema(description = "Credenciales de inicio de sesión")
+public class LoginRequest {
+
+    @Schema(description = "DNI o correo electrónico del usuario", example = "1710034065")
+    private String username;
+
+    @Schema(description = "Contraseña", example = "Password123!")
+    private String password;
+}
@@ -1,10 +1,13 @@
 package com.hospital.dtos;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Instant;
+
 @Getter
 @Setter
 @AllArgsConstructor
@@ -22,4 +25,8 @@ public class MedicalCenterDto {
 
     @Schema(description = "Dirección exacta del centro", example = "Av. Amazonas N34-125")
     private String address;
+
+    @JsonProperty("updated_at")
+    @Schema(description = "Fecha de la última actualización del centro (UTC)", example = "2025-03-05T09:15:00Z")
+    private Instant updatedAt;
 }
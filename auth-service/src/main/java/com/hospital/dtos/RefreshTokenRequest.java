@@ -0,0 +1,14 @@
+package com.hospital.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Schema(description = "Petición para renovar el token de acceso")
+public class RefreshTokenRequest {
+
+    @Schema(description = "Refresh token recibido en el login o en la última renovación", example = "q3J0b2tlbi1vcGFjby1kZS1lamVtcGxv")
+    private String refreshToken;
+}
@@ -0,0 +1,30 @@
+package com.hospital.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Revocación de tokens de acceso replicada por el gateway")
+public class RevocationResponse {
+
+    @Schema(description = "Cursor de replicación", example = "42")
+    private Long id;
+
+    @Schema(description = "Identificador (jti) del token revocado; nulo si se revocan todos los tokens del usuario")
+    private String jti;
+
+    @Schema(description = "Usuario cuyos tokens emitidos antes de revokedAt quedan revocados; nulo para un solo token")
+    private Long userId;
+
+    @Schema(description = "Instante de la revocación (epoch ms)")
+    private long revokedAt;
+
+    @Schema(description = "Instante a partir del cual la revocación deja de ser necesaria (epoch ms)")
+    private long expiresAt;
+}
@@ -0,0 +1,24 @@
+package com.hospital.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Tokens emitidos al renovar la sesión")
+public class TokenResponse {
+
+    @Schema(description = "Nuevo token de acceso (JWT)")
+    private String token;
+
+    @Schema(description = "Nuevo refresh token; el anterior queda revocado")
+    private String refreshToken;
+
+    @Schema(description = "DNI del usuario", example = "1710034065")
+    private String username;
+}
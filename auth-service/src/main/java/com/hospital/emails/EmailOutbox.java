@@ -0,0 +1,87 @@
+package com.hospital.emails;
+
+import com.hospital.entities.EmailOutboxMessage;
+import com.hospital.enums.EmailStatus;
+import com.hospital.repositories.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Persistent e-mail queue. {@link #enqueue} joins the caller's transaction, so the e-mail exists
+ * only if the change that triggers it commits; the worker is woken right after the commit.
+ * The body is cleared once a message is sent or gives up, and finished rows are deleted by
+ * {@link com.hospital.services.VerificationTokenPurgeJob} after the retention period.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmailOutbox {
+
+    private final EmailOutboxRepository repository;
+    private final ApplicationEventPublisher events;
+
+    /**
+     * Published on enqueue; the worker drains after the transaction commits
+     */
+    public record EmailEnqueuedEvent(Long messageId) {
+    }
+
+    @Transactional
+    public void enqueue(String to, String subject, String html) {
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setRecipient(to);
+        message.setSubject(subject);
+        message.setBody(html);
+        repository.save(message);
+        events.publishEvent(new EmailEnqueuedEvent(message.getId()));
+    }
+
+    /**
+     * Locks the due messages and pushes their next attempt out by the lease, so no other
+     * instance picks them up while they are being sent; a crashed sender's messages are retried after the lease
+     */
+    @Transactional
+    public List<EmailOutboxMessage> claimDue(int limit, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> due = repository.lockDue(now, limit);
+        due.forEach(message -> message.setNextAttemptAt(now.plus(lease)));
+        return due;
+    }
+
+    @Transactional
+    public void markSent(Long id) {
+        repository.findById(id).ifPresent(message -> {
+            message.setStatus(EmailStatus.SENT);
+            message.setAttempts(message.getAttempts() + 1);
+            message.setSentAt(LocalDateTime.now());
+            message.setLastError(null);
+            // El cuerpo puede llevar un enlace de restablecimiento aún válido: no se conserva tras el envío
+            message.setBody("");
+        });
+    }
+
+    /**
+     * @return true if the message will be retried, false if it ran out of attempts
+     */
+    @Transactional
+    public boolean markAttemptFailed(Long id, String error, int maxAttempts, Duration backoff) {
+        EmailOutboxMessage message = repository.findById(id).orElse(null);
+        if (message == null) {
+            return false;
+        }
+        message.setAttempts(message.getAttempts() + 1);
+        message.setLastError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+        if (message.getAttempts() >= maxAttempts) {
+            message.setStatus(EmailStatus.FAILED);
+            message.setBody("");
+            return false;
+        }
+        message.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+        return true;
+    }
+}
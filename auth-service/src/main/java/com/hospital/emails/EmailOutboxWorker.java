@@ -0,0 +1,171 @@
+package com.hospital.emails;
+
+import com.hospital.entities.EmailOutboxMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the e-mail outbox: claims due messages in batches and sends them on a fixed pool of
+ * sender threads, outside any transaction. Failed sends are retried with exponential backoff
+ * and jitter until the attempt limit. Runs on a timer and right after an e-mail is enqueued.
+ * A batch is waited for at most half the lease: sends not started by then are cancelled and their
+ * messages become due again when the lease runs out, so no message is sent by two instances.
+ * Each send is bounded by the SMTP timeouts ({@code spring.mail.properties.mail.smtp.*timeout}).
+ */
+@Slf4j
+@Component
+public class EmailOutboxWorker {
+
+    private final EmailOutbox outbox;
+    private final EmailService emailService;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    private final ScheduledExecutorService drainer;
+    private final ExecutorService senders;
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    public EmailOutboxWorker(EmailOutbox outbox,
+                             EmailService emailService,
+                             MeterRegistry meterRegistry,
+                             @Value("${auth.mail.outbox.senders:2}") int senders,
+                             @Value("${auth.mail.outbox.batch-size:20}") int batchSize,
+                             @Value("${auth.mail.outbox.max-attempts:6}") int maxAttempts,
+                             @Value("${auth.mail.outbox.lease:PT2M}") Duration lease,
+                             @Value("${auth.mail.outbox.initial-backoff:PT30S}") Duration initialBackoff,
+                             @Value("${auth.mail.outbox.max-backoff:PT30M}") Duration maxBackoff,
+                             @Value("${auth.mail.outbox.poll-interval:PT10S}") Duration pollInterval) {
+        this.outbox = outbox;
+        this.emailService = emailService;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+
+        this.sent = outcome(meterRegistry, "sent");
+        this.retried = outcome(meterRegistry, "retried");
+        this.failed = outcome(meterRegistry, "failed");
+
+        this.drainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger counter = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(Math.max(1, senders), runnable -> {
+            Thread thread = new Thread(runnable, "email-sender-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, pollInterval.toMillis());
+        drainer.scheduleWithFixedDelay(this::drain, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("auth.mail.outbox")
+                .description("E-mail outbox send attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drains as soon as the enqueuing transaction commits instead of waiting for the next tick;
+     * drains never overlap, they run on one thread
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEnqueued(EmailOutbox.EmailEnqueuedEvent event) {
+        drainer.execute(this::drain);
+    }
+
+    private void drain() {
+        try {
+            List<EmailOutboxMessage> batch;
+            do {
+                batch = outbox.claimDue(batchSize, lease);
+                List<CompletableFuture<Void>> sends = new ArrayList<>(batch.size());
+                for (EmailOutboxMessage message : batch) {
+                    sends.add(CompletableFuture.runAsync(() -> send(message), senders));
+                }
+                if (!awaitBatch(sends)) {
+                    log.warn("E-mail outbox batch not finished within {}s, unsent messages wait for the lease",
+                            lease.dividedBy(2).toSeconds());
+                    return;
+                }
+            } while (batch.size() == batchSize);
+        } catch (Exception e) {
+            log.warn("E-mail outbox drain failed: {}", e.getMessage());
+        }
+    }
+
+    private boolean awaitBatch(List<CompletableFuture<Void>> sends) throws Exception {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(lease.dividedBy(2).toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            // Un envío ya en curso termina por sí solo (timeouts SMTP); los que siguen en cola no empiezan
+            sends.forEach(send -> send.cancel(false));
+            return false;
+        }
+    }
+
+    private void send(EmailOutboxMessage message) {
+        try {
+            emailService.sendEmail(message.getRecipient(), message.getSubject(), message.getBody());
+            outbox.markSent(message.getId());
+            sent.increment();
+        } catch (Exception e) {
+            Duration backoff = backoff(message.getAttempts() + 1);
+            if (outbox.markAttemptFailed(message.getId(), e.getMessage(), maxAttempts, backoff)) {
+                retried.increment();
+                log.warn("E-mail {} to {} failed (attempt {}), retrying in {}s: {}",
+                        message.getId(), message.getRecipient(), message.getAttempts() + 1, backoff.toSeconds(), e.getMessage());
+            } else {
+                failed.increment();
+                log.error("E-mail {} to {} failed after {} attempts: {}",
+                        message.getId(), message.getRecipient(), maxAttempts, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Exponential backoff from the initial delay, capped, with up to 20% jitter so retries of a burst spread out
+     */
+    private Duration backoff(int attempt) {
+        long base = initialBackoff.toMillis() << Math.min(attempt - 1, 20);
+        long capped = Math.min(base, maxBackoff.toMillis());
+        long jitter = (long) (capped * 0.2 * ThreadLocalRandom.current().nextDouble());
+        return Duration.ofMillis(capped + jitter);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        drainer.shutdownNow();
+        senders.shutdownNow();
+    }
+}
@@ -0,0 +1,48 @@
+package com.hospital.emails;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HTML template split once into literal text and ${name} placeholders, so rendering is a
+ * single pass over the parts instead of reading and searching the file on every e-mail.
+ * Values are HTML-escaped.
+ */
+public final class EmailTemplate {
+
+    private final List<String> literals = new ArrayList<>();
+    private final List<String> placeholders = new ArrayList<>();
+    private final int estimatedLength;
+
+    EmailTemplate(String source) {
+        int position = 0;
+        while (true) {
+            int start = source.indexOf("${", position);
+            int end = start < 0 ? -1 : source.indexOf('}', start + 2);
+            if (end < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            literals.add(source.substring(position, start));
+            placeholders.add(source.substring(start + 2, end).trim());
+            position = end + 1;
+        }
+        this.estimatedLength = source.length() + 64;
+    }
+
+    public String render(Map<String, String> values) {
+        StringBuilder html = new StringBuilder(estimatedLength);
+        for (int i = 0; i < placeholders.size(); i++) {
+            html.append(literals.get(i));
+            String value = values.get(placeholders.get(i));
+            if (value != null) {
+                html.append(HtmlUtils.htmlEscape(value));
+            }
+        }
+        html.append(literals.get(literals.size() - 1));
+        return html.toString();
+    }
+}
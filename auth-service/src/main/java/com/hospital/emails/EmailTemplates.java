@@ -0,0 +1,69 @@
+package com.hospital.emails;
+
+import com.hospital.exceptions.EmailTemplateException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Loads and compiles every template under templates/emails at startup. An unreadable template, or
+ * a missing one among those the service renders ({@link #REQUIRED}), fails the startup instead of the first e-mail.
+ */
+@Slf4j
+@Component
+public class EmailTemplates {
+
+    public static final String PASSWORD_RESET = "password-reset";
+
+    // Every template rendered by the service must be listed here
+    static final Set<String> REQUIRED = Set.of(PASSWORD_RESET);
+
+    private static final String LOCATION = "classpath:templates/emails/*.html";
+
+    private final Map<String, EmailTemplate> templates = new HashMap<>();
+
+    public EmailTemplates() {
+        this(LOCATION, REQUIRED);
+    }
+
+    EmailTemplates(String location, Set<String> required) {
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(location)) {
+                String fileName = resource.getFilename();
+                if (fileName == null) {
+                    continue;
+                }
+                String source = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+                templates.put(fileName.substring(0, fileName.length() - ".html".length()), new EmailTemplate(source));
+            }
+        } catch (IOException e) {
+            throw new EmailTemplateException("Error al leer las plantillas de email: " + e.getMessage());
+        }
+
+        Set<String> missing = new TreeSet<>(required);
+        missing.removeAll(templates.keySet());
+        if (!missing.isEmpty()) {
+            throw new EmailTemplateException("Faltan plantillas de email en " + location + ": " + missing);
+        }
+        log.info("Loaded e-mail templates {}", templates.keySet());
+    }
+
+    /**
+     * @param name file name of the template without .html, e.g. password-reset
+     */
+    public String render(String name, Map<String, String> values) {
+        EmailTemplate template = templates.get(name);
+        if (template == null) {
+            throw new EmailTemplateException("No existe la plantilla de email: " + name);
+        }
+        return template.render(values);
+    }
+}
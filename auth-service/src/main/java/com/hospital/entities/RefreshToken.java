@@ -0,0 +1,48 @@
+package com.hospital.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Opaque refresh token. Only the SHA-256 of the token is stored; each use revokes it and issues a new one,
+ * recorded in {@code replacedBy}. A token revoked by logout or by revoking the user has no successor.
+ * The user is referenced by id so a disabled (soft-deleted) user simply fails the refresh lookup.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "refresh_tokens", indexes = @Index(name = "idx_refresh_tokens_user", columnList = "user_id"))
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private Boolean revoked;
+
+    // Token emitido al rotar este; null si no se ha rotado (activo, o revocado por logout)
+    @Column(name = "replaced_by")
+    private Long replacedBy;
+
+    @Column(nullable = false)
+    private LocalDateTime expiration;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist()
+    public void prePersist() {
+        this.revoked = false;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "verification_tokens")
+@Table(name = "verification_tokens", indexes = @Index(name = "idx_verification_tokens_expiration", columnList = "expiration"))
 public class VerificationToken {
 
     @Id
@@ -20,6 +20,8 @@ public class VerificationToken {
     @JoinColumn(name="user_id",nullable = false)
     private User user;
 
+    // Único por los scripts SQL (uq_verification_tokens_token; por centro en init.sql, que está particionada).
+    // Sin unique = true: ddl-auto añadiría su propia restricción, duplicada o imposible en la tabla particionada
     @Column(nullable = false)
     private String token;
 
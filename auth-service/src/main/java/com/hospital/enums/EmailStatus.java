@@ -0,0 +1,7 @@
+package com.hospital.enums;
+
+public enum EmailStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,13 @@
+package com.hospital.exceptions;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * The password verification pool is saturated; the login is rejected instead of queued
+ * so the client can retry later (503)
+ */
+public class LoginCapacityExceededException extends AuthenticationServiceException {
+    public LoginCapacityExceededException(String message) {
+        super(message);
+    }
+}
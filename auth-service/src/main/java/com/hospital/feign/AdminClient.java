@@ -5,6 +5,7 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.List;
 
 // Fallback --> una accion alternativa en caso de que el servicio falle.
@@ -22,6 +23,20 @@ public interface AdminClient {
     List<MedicalCenterDto> getCentersByIds(@RequestBody List<Long> ids,
                                            @RequestParam(value = "includeDeleted", defaultValue = "false") boolean includeDeleted);
 
+    // Llamadas de fondo (sin petición entrante): el rol se envía explícitamente
+    @GetMapping("/admin/centers/all")
+    List<MedicalCenterDto> getAllCenters(@RequestHeader("X-Roles") String roles,
+                                         @RequestParam(value = "includeDeleted", defaultValue = "false") boolean includeDeleted);
+
+    @GetMapping("/admin/centers/changes")
+    List<MedicalCenterDto> getCentersChangedSince(@RequestHeader("X-Roles") String roles,
+                                                  @RequestParam("since") Instant since);
+
+    @PostMapping("/admin/centers/batch")
+    List<MedicalCenterDto> getCentersByIds(@RequestHeader("X-Roles") String roles,
+                                           @RequestBody List<Long> ids,
+                                           @RequestParam(value = "includeDeleted", defaultValue = "false") boolean includeDeleted);
+
     @GetMapping("/admin/doctors/exists-by-user/{userId}")
     ResponseEntity<Void> existsByUserId(@PathVariable Long userId);
 
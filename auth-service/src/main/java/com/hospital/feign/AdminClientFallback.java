@@ -6,6 +6,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
 import java.util.List;
 
 @Slf4j
@@ -24,6 +25,21 @@ public class AdminClientFallback implements AdminClient {
         return List.of();
     }
 
+    @Override
+    public List<MedicalCenterDto> getAllCenters(String roles, boolean includeDeleted) {
+        return List.of();
+    }
+
+    @Override
+    public List<MedicalCenterDto> getCentersChangedSince(String roles, Instant since) {
+        return List.of();
+    }
+
+    @Override
+    public List<MedicalCenterDto> getCentersByIds(String roles, List<Long> ids, boolean includeDeleted) {
+        return List.of();
+    }
+
     @Override
     public ResponseEntity<Void> existsByUserId(Long userId) {
         log.info("Fallback openfeign");
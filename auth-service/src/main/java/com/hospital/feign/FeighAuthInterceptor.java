@@ -5,6 +5,7 @@ import feign.RequestTemplate;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Component
 public class FeighAuthInterceptor implements RequestInterceptor {
@@ -14,6 +15,10 @@ public class FeighAuthInterceptor implements RequestInterceptor {
 
     @Override
     public void apply(RequestTemplate template) {
+        // Llamadas desde hilos de fondo (p. ej. el directorio de centros): no hay petición que reenviar
+        if (RequestContextHolder.getRequestAttributes() == null) {
+            return;
+        }
         String roles = request.getHeader("X-Roles");
         String userId = request.getHeader("X-User-Id");
         String centerId = request.getHeader("X-Center-Id");
@@ -0,0 +1,31 @@
+package com.hospital.repositories;
+
+import com.hospital.entities.EmailOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    // SKIP LOCKED: varias instancias de auth-service pueden vaciar la cola sin tomar el mismo correo
+    @Query(
+            value = "SELECT * FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+                    "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true
+    )
+    List<EmailOutboxMessage> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Purga en lotes de correos ya resueltos; next_attempt_at es el último intento, cubierto por idx_email_outbox_due
+    @Modifying
+    @Query(
+            value = "DELETE FROM email_outbox WHERE id IN (" +
+                    "SELECT id FROM email_outbox WHERE status IN ('SENT', 'FAILED') AND next_attempt_at < :before " +
+                    "LIMIT :limit)",
+            nativeQuery = true
+    )
+    int deleteFinishedBatch(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
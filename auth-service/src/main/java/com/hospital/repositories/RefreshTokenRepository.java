@@ -0,0 +1,40 @@
+package com.hospital.repositories;
+
+import com.hospital.entities.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Revocación sin sucesor (logout)
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.id = :id AND t.revoked = false")
+    int revokeIfActive(@Param("id") Long id);
+
+    // Rotación condicional: solo una de dos rotaciones concurrentes del mismo token la gana
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.revoked = true, t.replacedBy = :replacedBy WHERE t.id = :id AND t.revoked = false")
+    int rotateIfActive(@Param("id") Long id, @Param("replacedBy") Long replacedBy);
+
+    // Revoca la cadena de rotaciones que sale de un token, siguiendo replaced_by por clave primaria
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(
+            value = "WITH RECURSIVE family AS (" +
+                    "SELECT id, replaced_by FROM refresh_tokens WHERE id = :id " +
+                    "UNION ALL " +
+                    "SELECT t.id, t.replaced_by FROM refresh_tokens t JOIN family f ON t.id = f.replaced_by) " +
+                    "UPDATE refresh_tokens SET revoked = true WHERE id IN (SELECT id FROM family) AND revoked = false",
+            nativeQuery = true
+    )
+    int revokeFamily(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.userId = :userId AND t.revoked = false")
+    int revokeAllForUser(@Param("userId") Long userId);
+}
@@ -0,0 +1,14 @@
+package com.hospital.repositories;
+
+import com.hospital.entities.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    // Página de la réplica: revocaciones vigentes desde revokedAt, por id a partir del cursor
+    List<RevokedToken> findTop1000ByRevokedAtGreaterThanEqualAndIdGreaterThanAndExpiresAtAfterOrderByIdAsc(
+            Instant since, Long id, Instant now);
+}
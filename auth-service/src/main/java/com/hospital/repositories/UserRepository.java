@@ -61,6 +61,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query(value = "SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM users u WHERE u.center_id = :centerId", nativeQuery = true)
     boolean existsByCenterId(Long centerId);
 
+    // Búsquedas del login: cada una usa el índice único de su columna
+    @EntityGraph(attributePaths = {"roles"})
+    Optional<User> findWithRolesByUsername(String username);
+
+    @EntityGraph(attributePaths = {"roles"})
+    Optional<User> findWithRolesByEmail(String email);
+
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.username = :input OR u.email = :input")
     Optional<User> findByUsernameOrEmail(@Param("input") String input);
 
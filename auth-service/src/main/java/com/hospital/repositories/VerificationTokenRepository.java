@@ -2,9 +2,27 @@ package com.hospital.repositories;
 
 import com.hospital.entities.VerificationToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface VerificationTokenRepository extends JpaRepository<VerificationToken,Long> {
     Optional<VerificationToken> findByToken(String token);
+
+    // Lock de sesión de transacción: solo una instancia de auth-service purga a la vez
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(@Param("key") long key);
+
+    // Borrado en lotes acotados para no mantener locks ni generar WAL de golpe.
+    // Cada rama del OR tiene su índice (expiration y el parcial WHERE used), así el plan es un BitmapOr
+    @Modifying
+    @Query(
+            value = "DELETE FROM verification_tokens WHERE id IN (" +
+                    "SELECT id FROM verification_tokens WHERE expiration < :now OR used LIMIT :limit)",
+            nativeQuery = true
+    )
+    int deleteExpiredOrUsedBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
 }
@@ -6,6 +6,8 @@ import com.hospital.exceptions.SelfDeletionNotAllowedException;
 import com.hospital.mappers.UserMapper;
 import com.hospital.security.aop.RequireRole;
 import com.hospital.services.PasswordResetService;
+import com.hospital.services.RefreshTokenService;
+import com.hospital.services.TokenRevocationService;
 import com.hospital.services.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +26,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -37,6 +40,8 @@ public class UserAndAuthController {
     private final UserService service;
     private final UserMapper mapper;
     private final PasswordResetService passwordResetService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
     /* =========================
      *          USERS
@@ -205,6 +210,43 @@ public class UserAndAuthController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/refresh")
+    @Operation(summary = "Renovar el token de acceso",
+            description = "Canjea un refresh token por un nuevo token de acceso y un nuevo refresh token; el usado queda revocado.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Tokens renovados"),
+            @ApiResponse(responseCode = "401", description = "Refresh token inválido, expirado o ya usado")
+    })
+    public ResponseEntity<TokenResponse> refresh(@RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(refreshTokenService.refresh(request.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Cerrar sesión",
+            description = "Revoca el token de acceso actual y, si se envía, el refresh token.")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        tokenRevocationService.revokeAccessToken(authorization);
+        if (request != null) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @RequireRole("ADMIN")
+    @GetMapping("/revocations")
+    @Operation(summary = "Listar revocaciones vigentes",
+            description = "Revocaciones registradas desde el instante indicado, por id a partir del cursor; "
+                    + "los gateways las replican en memoria.")
+    public ResponseEntity<List<RevocationResponse>> revocations(
+            @Parameter(description = "Instante (epoch ms) desde el que se listan las revocaciones", example = "0")
+            @RequestParam(defaultValue = "0") long since,
+            @Parameter(description = "Último id de revocación ya leído en esta consulta", example = "0")
+            @RequestParam(defaultValue = "0") Long after) {
+        return ResponseEntity.ok(tokenRevocationService.findSince(Instant.ofEpochMilli(since), after));
+    }
+
     @PostMapping("/reset-password")
     @Operation(summary = "Restablecer contraseña",
             description = "Aplica el restablecimiento de contraseña utilizando el token recibido previamente.")
@@ -0,0 +1,46 @@
+package com.hospital.security.configs;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Mints the access tokens (JWT) returned by the login and by the refresh-token grant.
+ * Each token carries a jti so it can be revoked individually.
+ */
+@Component
+public class AccessTokenIssuer {
+
+    private final TokenJwtConfig tokenJwtConfig;
+    private final long ttlMillis;
+
+    public AccessTokenIssuer(TokenJwtConfig tokenJwtConfig,
+                             @Value("${auth.jwt.access-ttl:PT15M}") Duration ttl) {
+        this.tokenJwtConfig = tokenJwtConfig;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public String issue(String username, Collection<String> roles, Long userId, Long centerId) {
+        Claims claims = Jwts.claims()
+                .add("roles", roles)
+                .add("userId", String.valueOf(userId))
+                .add("centerId", String.valueOf(centerId))
+                .build();
+
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(username)
+                .claims(claims)
+                .expiration(new Date(now + ttlMillis))
+                .issuedAt(new Date(now))
+                .signWith(tokenJwtConfig.getSecretKey())
+                .compact();
+    }
+}
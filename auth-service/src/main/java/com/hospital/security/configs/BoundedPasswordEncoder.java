@@ -0,0 +1,112 @@
+package com.hospital.security.configs;
+
+import com.hospital.exceptions.LoginCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password verification on a fixed pool with a bounded queue, so a login storm uses
+ * at most the pool's threads for BCrypt instead of every request thread. When the queue is
+ * full, or a verification waits longer than the timeout, the login fails fast with
+ * {@link LoginCapacityExceededException}. Only the login provider uses it; encoding and the
+ * service layer's checks (user creation, password changes) use a plain encoder.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutNanos;
+
+    private final Timer waitTimer;
+    private final Timer verifyTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry,
+                                  int threads, int queueCapacity, Duration timeout) {
+        this.delegate = delegate;
+        this.timeoutNanos = timeout.toNanos();
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verify-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.waitTimer = Timer.builder("auth.password.verify.wait")
+                .description("Time a password verification waited for a pool thread")
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("auth.password.verify")
+                .description("Password hash verification time")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.verify.rejected")
+                .description("Logins rejected because the verification pool was saturated")
+                .register(meterRegistry);
+        meterRegistry.gauge("auth.password.verify.queued", executor, pool -> pool.getQueue().size());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long queuedAt = System.nanoTime();
+        Future<Boolean> verification;
+        try {
+            verification = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return verifyTimer.recordCallable(() -> delegate.matches(rawPassword, encodedPassword));
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new LoginCapacityExceededException("Too many concurrent logins, retry shortly");
+        }
+
+        try {
+            return verification.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            verification.cancel(true);
+            rejected.increment();
+            throw new LoginCapacityExceededException("Too many concurrent logins, retry shortly");
+        } catch (InterruptedException e) {
+            verification.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new LoginCapacityExceededException("Login interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Inferred destroy method of the bean
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,38 +1,76 @@
 package com.hospital.security.configs;
 
 import com.hospital.security.filters.JwtAuthenticationFilter;
+import com.hospital.security.throttle.LoginThrottle;
+import com.hospital.services.RefreshTokenService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import java.time.Duration;
+
 @Configuration
 @RequiredArgsConstructor
 public class SpringSecurityConfig {
 
     private final AuthenticationConfiguration authenticationConfiguration;
     private final CorsConfigurationSource corsConfigurationSource;
-    private final TokenJwtConfig tokenJwtConfig;
+    private final AccessTokenIssuer accessTokenIssuer;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginThrottle loginThrottle;
 
     @Bean
     public AuthenticationManager authenticationManager() throws Exception {
         return authenticationConfiguration.getAuthenticationManager();
     }
 
+    /**
+     * Service-layer encoder (registration, password change and reset): plain BCrypt on the caller's thread
+     */
     @Bean
+    @Primary
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
 
+    /**
+     * Login-only verifier: BCrypt on a bounded pool (0 threads = one per CPU), so a login storm
+     * cannot starve the other endpoints and password changes never queue behind logins
+     */
+    @Bean
+    public BoundedPasswordEncoder loginPasswordEncoder(MeterRegistry meterRegistry,
+                                                       @Value("${auth.login.verify-threads:0}") int verifyThreads,
+                                                       @Value("${auth.login.verify-queue:64}") int verifyQueue,
+                                                       @Value("${auth.login.verify-timeout:PT5S}") Duration verifyTimeout) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry, verifyThreads, verifyQueue, verifyTimeout);
+    }
+
+    /**
+     * The provider behind {@link #authenticationManager()}; the only user of the bounded verifier
+     */
+    @Bean
+    public DaoAuthenticationProvider loginAuthenticationProvider(UserDetailsService userDetailsService,
+                                                                 BoundedPasswordEncoder loginPasswordEncoder) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(loginPasswordEncoder);
+        return provider;
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         return http
@@ -46,7 +84,7 @@ public class SpringSecurityConfig {
                         .requestMatchers("/auth/**").permitAll()
                         .anyRequest().authenticated()
                 )
-                .addFilter(new JwtAuthenticationFilter(authenticationManager(), tokenJwtConfig))
+                .addFilter(new JwtAuthenticationFilter(authenticationManager(), accessTokenIssuer, refreshTokenService, loginThrottle))
                 .sessionManagement(m -> m.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .build();
     }
@@ -9,17 +9,21 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
 public class UserDetailServiceImp implements UserDetailsService {
 
     private final UserRepository userRepository;
 
-    // El username es el dni.
+    // El username es el dni; también se acepta el correo.
+    // Dos búsquedas por índice único en lugar de un OR: el correo solo se busca si el dni no existe.
     @Transactional(readOnly = true)
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsernameOrEmail(username)
+        User user = userRepository.findWithRolesByUsername(username)
+                .or(() -> username.indexOf('@') >= 0 ? userRepository.findWithRolesByEmail(username) : Optional.empty())
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
         return new CustomUserDetails(user);
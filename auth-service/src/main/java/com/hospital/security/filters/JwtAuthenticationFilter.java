@@ -1,10 +1,16 @@
 package com.hospital.security.filters;
 
-import com.hospital.entities.User;
-
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hospital.dtos.LoginRequest;
+import com.hospital.exceptions.LoginCapacityExceededException;
+import com.hospital.exceptions.LoginThrottledException;
+import com.hospital.security.configs.AccessTokenIssuer;
 import com.hospital.security.configs.CustomUserDetails;
 import com.hospital.security.configs.TokenJwtConfig;
+import com.hospital.security.throttle.LoginThrottle;
+import com.hospital.services.RefreshTokenService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,41 +25,59 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 import java.io.IOException;
 import java.util.Collection;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 
-    private TokenJwtConfig tokenJwtConfig;
+    // Thread-safe and built once: the login path no longer creates an ObjectMapper per request
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectReader LOGIN_READER = MAPPER.readerFor(LoginRequest.class);
+    private static final ObjectWriter BODY_WRITER = MAPPER.writerFor(Map.class);
+
+    // Username as sent by the client (dni or email), for the throttle
+    private static final String LOGIN_USERNAME_ATTR = JwtAuthenticationFilter.class.getName() + ".username";
+
+    private final AccessTokenIssuer accessTokenIssuer;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginThrottle loginThrottle;
 
     public JwtAuthenticationFilter(AuthenticationManager authenticationManager,
-                                   TokenJwtConfig tokenJwtConfig) {
+                                   AccessTokenIssuer accessTokenIssuer,
+                                   RefreshTokenService refreshTokenService,
+                                   LoginThrottle loginThrottle) {
         super.setAuthenticationManager(authenticationManager);
-        this.tokenJwtConfig = tokenJwtConfig;
+        this.accessTokenIssuer = accessTokenIssuer;
+        this.refreshTokenService = refreshTokenService;
+        this.loginThrottle = loginThrottle;
         this.setFilterProcessesUrl("/auth/login");
     }
 
     @Override
     public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response)
             throws AuthenticationException {
-        User user = null;
         String userName = null;
         String password = null;
 
         try {
-            user = new ObjectMapper().readValue(request.getInputStream(), User.class);
-            userName = user.getUsername();
-            password = user.getPassword();
+            LoginRequest credentials = LOGIN_READER.readValue(request.getInputStream());
+            userName = credentials.getUsername();
+            password = credentials.getPassword();
         } catch (IOException e) {
             throw new RuntimeException("Somenting went wrong while was trying to read a value.");
         }
 
+        // Rejected before the AuthenticationManager, so throttled attempts cost no BCrypt work.
+        // The remote address comes from X-Forwarded-For, which the gateway overwrites with the address it saw
+        long retryAfter = loginThrottle.check(userName, request.getRemoteAddr());
+        if (retryAfter > 0) {
+            throw new LoginThrottledException(retryAfter);
+        }
+        request.setAttribute(LOGIN_USERNAME_ATTR, userName);
+
         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userName,
                 password);
         return super.getAuthenticationManager().authenticate(authenticationToken);
@@ -64,35 +88,27 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
                                             Authentication authResult) throws IOException, ServletException {
 
         CustomUserDetails customUser = (CustomUserDetails) authResult.getPrincipal();
+        loginThrottle.recordSuccess((String) request.getAttribute(LOGIN_USERNAME_ATTR));
 
         String username = customUser.getUsername();
         Collection<? extends GrantedAuthority> authorities = authResult.getAuthorities();
 
-        Claims claims = Jwts.claims()
-                .add("roles", authorities.stream()
-                        .map(GrantedAuthority::getAuthority)
-                        .toList()
-                )
-                .add("userId", String.valueOf(customUser.getUserId()))
-                .add("centerId", String.valueOf(customUser.getCenterId()))
-                .build();
-
-        String jwt = Jwts.builder()
-                .subject(username)
-                .claims(claims)
-                .expiration(new Date(System.currentTimeMillis() + 3600000))
-                .issuedAt(new Date())
-                .signWith(tokenJwtConfig.getSecretKey())
-                .compact();
+        String jwt = accessTokenIssuer.issue(
+                username,
+                authorities.stream().map(GrantedAuthority::getAuthority).toList(),
+                customUser.getUserId(),
+                customUser.getCenterId());
+        String refreshToken = refreshTokenService.issue(customUser.getUserId());
 
         response.addHeader(TokenJwtConfig.HEADER_AUTHORIZATION, TokenJwtConfig.PREFIX_TOKEN + jwt);
 
         Map<String, String> body = new HashMap<>();
         body.put("token", jwt);
+        body.put("refreshToken", refreshToken);
         body.put("username", username);
         body.put("message", String.format("Hello %s, you have been started session with sucessfully", username));
 
-        response.getWriter().write(new ObjectMapper().writeValueAsString(body));
+        response.getWriter().write(BODY_WRITER.writeValueAsString(body));
         response.setContentType(TokenJwtConfig.CONTENT_TYPE);
         response.setStatus(200);
     }
@@ -100,11 +116,37 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
     @Override
     protected void unsuccessfulAuthentication(HttpServletRequest request, HttpServletResponse response,
                                               AuthenticationException failed) throws IOException, ServletException {
+        if (failed instanceof LoginCapacityExceededException) {
+            Map<String, String> body = new HashMap<>();
+            body.put("message", "Too many logins in progress, please retry.");
+            body.put("error", failed.getMessage());
+
+            response.setStatus(503);
+            response.setHeader("Retry-After", "1");
+            response.setContentType(TokenJwtConfig.CONTENT_TYPE);
+            response.getWriter().write(BODY_WRITER.writeValueAsString(body));
+            return;
+        }
+
+        if (failed instanceof LoginThrottledException throttled) {
+            Map<String, String> body = new HashMap<>();
+            body.put("message", "Too many failed login attempts.");
+            body.put("error", failed.getMessage());
+
+            response.setStatus(429);
+            response.setHeader("Retry-After", String.valueOf(throttled.getRetryAfterSeconds()));
+            response.setContentType(TokenJwtConfig.CONTENT_TYPE);
+            response.getWriter().write(BODY_WRITER.writeValueAsString(body));
+            return;
+        }
+
+        loginThrottle.recordFailure((String) request.getAttribute(LOGIN_USERNAME_ATTR), request.getRemoteAddr());
+
         Map<String, String> body = new HashMap<>();
         body.put("message", "Username or password invalid.");
         body.put("error", failed.getMessage());
 
-        response.getWriter().write(new ObjectMapper().writeValueAsString(body));
+        response.getWriter().write(BODY_WRITER.writeValueAsString(body));
         response.setStatus(401);
         response.setContentType(TokenJwtConfig.CONTENT_TYPE);
     }
@@ -0,0 +1,138 @@
+package com.hospital.security.throttle;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts failed logins per username and per client IP over a sliding window and blocks a key
+ * once it reaches its limit, so credential stuffing is rejected before any BCrypt work.
+ * Only failures create counters; the map is bounded, idle counters are evicted in the background.
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    private static final String USER_PREFIX = "user:";
+    private static final String IP_PREFIX = "ip:";
+
+    private final ConcurrentHashMap<String, SlidingWindowCounter> counters = new ConcurrentHashMap<>();
+    private final long windowMillis;
+    private final int maxFailuresPerUser;
+    private final int maxFailuresPerIp;
+    private final int maxKeys;
+    private final ScheduledExecutorService evictor;
+
+    private final Counter blockedByUser;
+    private final Counter blockedByIp;
+
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${auth.login.throttle.window:PT15M}") Duration window,
+                         @Value("${auth.login.throttle.max-failures-per-user:5}") int maxFailuresPerUser,
+                         @Value("${auth.login.throttle.max-failures-per-ip:30}") int maxFailuresPerIp,
+                         @Value("${auth.login.throttle.max-keys:100000}") int maxKeys) {
+        this.windowMillis = Math.max(1000, window.toMillis());
+        this.maxFailuresPerUser = maxFailuresPerUser;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.maxKeys = Math.max(1, maxKeys);
+
+        this.blockedByUser = blocked(meterRegistry, "user");
+        this.blockedByIp = blocked(meterRegistry, "ip");
+        meterRegistry.gaugeMapSize("auth.login.throttle.keys", Tags.empty(), counters);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "login-throttle-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, windowMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private static Counter blocked(MeterRegistry meterRegistry, String key) {
+        return Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected by the brute-force throttle")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return 0 if the attempt may proceed, otherwise the seconds the client should wait
+     */
+    public long check(String username, String clientIp) {
+        long now = System.currentTimeMillis();
+        long wait = blockedFor(IP_PREFIX + clientIp, maxFailuresPerIp, now);
+        if (wait > 0) {
+            blockedByIp.increment();
+            return wait;
+        }
+        wait = blockedFor(USER_PREFIX + normalize(username), maxFailuresPerUser, now);
+        if (wait > 0) {
+            blockedByUser.increment();
+        }
+        return wait;
+    }
+
+    public void recordFailure(String username, String clientIp) {
+        long now = System.currentTimeMillis();
+        if (counters.size() >= maxKeys) {
+            evict(now);
+        }
+        counters.computeIfAbsent(IP_PREFIX + clientIp, key -> new SlidingWindowCounter(now)).increment(now, windowMillis);
+        counters.computeIfAbsent(USER_PREFIX + normalize(username), key -> new SlidingWindowCounter(now)).increment(now, windowMillis);
+    }
+
+    /**
+     * A successful login clears the username's failures (not the IP's: one account does not vouch for the rest)
+     */
+    public void recordSuccess(String username) {
+        counters.remove(USER_PREFIX + normalize(username));
+    }
+
+    private long blockedFor(String key, int limit, long now) {
+        SlidingWindowCounter counter = counters.get(key);
+        if (counter == null || counter.estimate(now, windowMillis) < limit) {
+            return 0;
+        }
+        return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(counter.millisUntilRoll(now, windowMillis)));
+    }
+
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        counters.values().removeIf(counter -> counter.isIdle(now, windowMillis));
+    }
+
+    /**
+     * Drops idle counters first; if still full, drops arbitrary ones down to 90% of the bound
+     */
+    private void evict(long now) {
+        counters.values().removeIf(counter -> counter.isIdle(now, windowMillis));
+        int target = maxKeys - Math.max(1, maxKeys / 10);
+        Iterator<String> it = counters.keySet().iterator();
+        while (counters.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+        log.warn("Login throttle reached {} keys; dropped counters down to {}", maxKeys, counters.size());
+    }
+
+    private static String normalize(String username) {
+        return username == null ? "" : username.trim().toLowerCase();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        evictor.shutdownNow();
+    }
+}
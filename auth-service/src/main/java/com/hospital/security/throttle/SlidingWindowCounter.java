@@ -0,0 +1,62 @@
+package com.hospital.security.throttle;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free sliding-window counter: the current and the previous fixed window, with the previous
+ * one weighted by how much of it still overlaps the sliding window. The state is immutable and
+ * swapped with CAS.
+ */
+final class SlidingWindowCounter {
+
+    private record Window(long startMillis, int previous, int current) {
+    }
+
+    private final AtomicReference<Window> state;
+
+    SlidingWindowCounter(long nowMillis) {
+        this.state = new AtomicReference<>(new Window(nowMillis, 0, 0));
+    }
+
+    double estimate(long nowMillis, long windowMillis) {
+        Window window = roll(state.get(), nowMillis, windowMillis);
+        double overlap = 1.0 - (double) (nowMillis - window.startMillis()) / windowMillis;
+        return window.previous() * Math.max(0.0, overlap) + window.current();
+    }
+
+    void increment(long nowMillis, long windowMillis) {
+        Window current;
+        Window next;
+        do {
+            current = state.get();
+            Window rolled = roll(current, nowMillis, windowMillis);
+            next = new Window(rolled.startMillis(), rolled.previous(), rolled.current() + 1);
+        } while (!state.compareAndSet(current, next));
+    }
+
+    /**
+     * Milliseconds until the current fixed window ends, when the previous window's weight drops out
+     */
+    long millisUntilRoll(long nowMillis, long windowMillis) {
+        Window window = roll(state.get(), nowMillis, windowMillis);
+        return Math.max(0, window.startMillis() + windowMillis - nowMillis);
+    }
+
+    /**
+     * True when both windows are over, so the counter no longer counts anything
+     */
+    boolean isIdle(long nowMillis, long windowMillis) {
+        return nowMillis - state.get().startMillis() >= 2 * windowMillis;
+    }
+
+    private static Window roll(Window window, long nowMillis, long windowMillis) {
+        long elapsed = nowMillis - window.startMillis();
+        if (elapsed < windowMillis) {
+            return window;
+        }
+        if (elapsed < 2 * windowMillis) {
+            return new Window(window.startMillis() + windowMillis, window.current(), 0);
+        }
+        return new Window(nowMillis, 0, 0);
+    }
+}
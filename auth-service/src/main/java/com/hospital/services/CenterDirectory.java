@@ -0,0 +1,167 @@
+package com.hospital.services;
+
+import com.hospital.dtos.MedicalCenterDto;
+import com.hospital.feign.AdminClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local copy of the medical center names owned by admin-service.
+ * Fully loaded once admin-service answers, then refreshed incrementally from the centers updated since
+ * the last seen change. Lookups never call admin-service: unknown ids are fetched in the background
+ * and show the placeholder name until then.
+ */
+@Slf4j
+@Component
+public class CenterDirectory {
+
+    public static final String UNKNOWN_CENTER = "Centro desconocido";
+
+    // El directorio lo consulta auth-service en nombre propio, no del usuario de la petición
+    private static final String SERVICE_ROLES = "ADMIN";
+
+    private final AdminClient adminClient;
+    private final Duration overlap;
+    private final long refreshMillis;
+    private final ScheduledExecutorService scheduler;
+
+    private final ConcurrentHashMap<Long, String> names = new ConcurrentHashMap<>();
+    // Ids pedidos en segundo plano y aún no resueltos, para no encolar la misma búsqueda por cada página
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    // Solo los modifica el hilo del scheduler
+    private volatile boolean loaded;
+    private Instant watermark;
+
+    public CenterDirectory(AdminClient adminClient,
+                           MeterRegistry meterRegistry,
+                           @Value("${auth.centers.refresh-interval:PT1M}") Duration refreshInterval,
+                           @Value("${auth.centers.refresh-overlap:PT5S}") Duration overlap) {
+        this.adminClient = adminClient;
+        this.overlap = overlap;
+        this.refreshMillis = Math.max(1_000, refreshInterval.toMillis());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "center-directory");
+            thread.setDaemon(true);
+            return thread;
+        });
+        meterRegistry.gaugeMapSize("auth.centers.directory.size", Tags.empty(), names);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Resolves center names from the local directory without blocking
+     * @param centerIds the centers to resolve
+     * @return a name for every non-null id, the placeholder for centers not known yet
+     */
+    public Map<Long, String> namesOf(Collection<Long> centerIds) {
+        Map<Long, String> result = new HashMap<>(centerIds.size() * 2);
+        List<Long> missing = new ArrayList<>();
+        for (Long id : centerIds) {
+            if (id == null) {
+                continue;
+            }
+            String name = names.get(id);
+            if (name == null) {
+                name = UNKNOWN_CENTER;
+                if (loaded && pending.add(id)) {
+                    missing.add(id);
+                }
+            }
+            result.put(id, name);
+        }
+        if (!missing.isEmpty()) {
+            scheduler.execute(() -> fetchMissing(missing));
+        }
+        return result;
+    }
+
+    void refresh() {
+        try {
+            if (!loaded) {
+                loadAll();
+            } else {
+                loadChanges();
+            }
+        } catch (Exception e) {
+            log.warn("Center directory refresh failed, keeping {} known centers: {}", names.size(), e.getMessage());
+        }
+    }
+
+    private void loadAll() {
+        List<MedicalCenterDto> centers = adminClient.getAllCenters(SERVICE_ROLES, true);
+        if (centers.isEmpty()) {
+            // Fallback de Feign o admin-service aún sin registrar: se reintenta en el siguiente ciclo
+            log.debug("Center directory not loaded yet: admin-service returned no centers");
+            return;
+        }
+        apply(centers);
+        loaded = true;
+        log.info("Center directory loaded with {} centers", names.size());
+    }
+
+    private void loadChanges() {
+        if (watermark == null) {
+            loaded = false;
+            loadAll();
+            return;
+        }
+        // El solape cubre transacciones confirmadas con un updated_at anterior al último visto
+        List<MedicalCenterDto> changes = adminClient.getCentersChangedSince(SERVICE_ROLES, watermark.minus(overlap));
+        if (!changes.isEmpty()) {
+            apply(changes);
+            log.debug("Center directory refreshed {} centers", changes.size());
+        }
+    }
+
+    private void fetchMissing(List<Long> ids) {
+        try {
+            apply(adminClient.getCentersByIds(SERVICE_ROLES, ids, true));
+        } catch (Exception e) {
+            log.debug("Could not resolve centers {}: {}", ids, e.getMessage());
+        } finally {
+            ids.forEach(pending::remove);
+        }
+    }
+
+    private void apply(List<MedicalCenterDto> centers) {
+        for (MedicalCenterDto center : centers) {
+            if (center.getId() == null || center.getName() == null) {
+                continue;
+            }
+            names.put(center.getId(), center.getName());
+            Instant updatedAt = center.getUpdatedAt();
+            if (updatedAt != null && (watermark == null || updatedAt.isAfter(watermark))) {
+                watermark = updatedAt;
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
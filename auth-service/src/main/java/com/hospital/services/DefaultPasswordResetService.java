@@ -1,10 +1,10 @@
 package com.hospital.services;
 
 import com.hospital.dtos.ResetPasswordRequest;
-import com.hospital.emails.EmailService;
+import com.hospital.emails.EmailOutbox;
+import com.hospital.emails.EmailTemplates;
 import com.hospital.entities.VerificationToken;
 import com.hospital.entities.User;
-import com.hospital.exceptions.EmailTemplateException;
 import com.hospital.exceptions.InvalidTokenException;
 import com.hospital.exceptions.TokenNotFoundException;
 import com.hospital.exceptions.UserNotFoundException;
@@ -12,13 +12,11 @@ import com.hospital.repositories.VerificationTokenRepository;
 import com.hospital.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -31,7 +29,9 @@ public class DefaultPasswordResetService implements PasswordResetService {
 
     private final VerificationTokenRepository repository;
     private final UserRepository userRepository;
-    private final EmailService emailService;
+    private final EmailTemplates emailTemplates;
+    private final EmailOutbox emailOutbox;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     public String createToken() {
@@ -68,18 +68,11 @@ public class DefaultPasswordResetService implements PasswordResetService {
 
         String resetUrl = this.frontendUrl + "/reset?token=" + token.getToken();
 
-        try {
-            ClassPathResource resource = new ClassPathResource("templates/emails/password-reset.html");
-            String html = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-
-            html = html.replace("${user}", user.getFirstName() + " " + user.getLastName());
-            html = html.replace("${reset_url}", resetUrl);
-
-            emailService.sendEmail(user.getEmail(), "Restablece tu contraseña", html);
-
-        } catch (IOException e) {
-            throw new EmailTemplateException("Error al leer la plantilla de email: " + e.getMessage());
-        }
+        // Se encola en la misma transacción; el SMTP lo hace el worker del outbox tras el commit
+        String html = emailTemplates.render(EmailTemplates.PASSWORD_RESET, Map.of(
+                "user", user.getFirstName() + " " + user.getLastName(),
+                "reset_url", resetUrl));
+        emailOutbox.enqueue(user.getEmail(), "Restablece tu contraseña", html);
     }
 
     @Transactional
@@ -95,5 +88,6 @@ public class DefaultPasswordResetService implements PasswordResetService {
         this.markAsUsed(token.getId());
         User user = token.getUser();
         userService.updatePassword(user.getId(), req.getNewPassword());
+        tokenRevocationService.revokeUser(user.getId());
     }
 }
@@ -0,0 +1,140 @@
+package com.hospital.services;
+
+import com.hospital.dtos.TokenResponse;
+import com.hospital.entities.RefreshToken;
+import com.hospital.entities.Role;
+import com.hospital.entities.User;
+import com.hospital.exceptions.UnauthorizedException;
+import com.hospital.repositories.RefreshTokenRepository;
+import com.hospital.repositories.UserRepository;
+import com.hospital.security.configs.AccessTokenIssuer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Refresh-token grant: opaque random tokens, stored as SHA-256 hashes and rotated on every use.
+ * Minting a new access token costs one lookup by the unique hash and one by user id, with no password hashing.
+ * Presenting an already rotated token revokes the rest of its rotation chain, since it means the token was copied;
+ * a token revoked by logout or by revoking the user is simply rejected.
+ */
+@Slf4j
+@Service
+public class DefaultRefreshTokenService implements RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository repository;
+    private final UserRepository userRepository;
+    private final AccessTokenIssuer accessTokenIssuer;
+    private final Duration ttl;
+
+    public DefaultRefreshTokenService(RefreshTokenRepository repository,
+                                      UserRepository userRepository,
+                                      AccessTokenIssuer accessTokenIssuer,
+                                      @Value("${auth.jwt.refresh-ttl:P7D}") Duration ttl) {
+        this.repository = repository;
+        this.userRepository = userRepository;
+        this.accessTokenIssuer = accessTokenIssuer;
+        this.ttl = ttl;
+    }
+
+    @Transactional
+    @Override
+    public String issue(Long userId) {
+        return create(userId).token();
+    }
+
+    // The revocation of a reused token's family must survive the 401
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    @Override
+    public TokenResponse refresh(String token) {
+        if (token == null || token.isBlank()) {
+            throw new UnauthorizedException("Refresh token requerido");
+        }
+
+        RefreshToken stored = repository.findByTokenHash(hash(token))
+                .orElseThrow(() -> new UnauthorizedException("Refresh token inválido"));
+
+        if (stored.getExpiration().isBefore(LocalDateTime.now())) {
+            throw new UnauthorizedException("Refresh token expirado");
+        }
+        if (stored.getRevoked()) {
+            throw rejectRevoked(stored);
+        }
+
+        // Soft-deleted (disabled) users are not found, so their refresh tokens stop working
+        User user = userRepository.findUserById(stored.getUserId())
+                .orElseThrow(() -> new UnauthorizedException("Usuario deshabilitado"));
+
+        IssuedToken next = create(user.getId());
+        if (repository.rotateIfActive(stored.getId(), next.id()) == 0) {
+            // Rotated or revoked concurrently: the successor must not outlive the 401
+            repository.deleteById(next.id());
+            throw rejectRevoked(repository.findById(stored.getId()).orElse(stored));
+        }
+
+        String accessToken = accessTokenIssuer.issue(
+                user.getUsername(),
+                user.getRoles().stream().map(Role::getName).toList(),
+                user.getId(),
+                user.getCenterId());
+        return new TokenResponse(accessToken, next.token(), user.getUsername());
+    }
+
+    /**
+     * A rotated token presented again was copied: its successors are revoked too. A token revoked
+     * by logout or user revocation has no successor and is just refused.
+     */
+    private UnauthorizedException rejectRevoked(RefreshToken stored) {
+        if (stored.getReplacedBy() != null) {
+            repository.revokeFamily(stored.getId());
+            log.warn("Reuse of a rotated refresh token for user {}; its rotation chain was revoked", stored.getUserId());
+        }
+        return new UnauthorizedException("Refresh token inválido");
+    }
+
+    private IssuedToken create(Long userId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUserId(userId);
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setExpiration(LocalDateTime.now().plus(ttl));
+        repository.save(refreshToken);
+        return new IssuedToken(refreshToken.getId(), token);
+    }
+
+    private record IssuedToken(Long id, String token) {
+    }
+
+    @Transactional
+    @Override
+    public void revoke(String token) {
+        if (token == null || token.isBlank()) {
+            return;
+        }
+        repository.findByTokenHash(hash(token)).ifPresent(stored -> repository.revokeIfActive(stored.getId()));
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
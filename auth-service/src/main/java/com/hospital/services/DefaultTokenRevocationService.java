@@ -0,0 +1,96 @@
+package com.hospital.services;
+
+import com.hospital.dtos.RevocationResponse;
+import com.hospital.entities.RevokedToken;
+import com.hospital.repositories.RefreshTokenRepository;
+import com.hospital.repositories.RevokedTokenRepository;
+import com.hospital.security.configs.TokenJwtConfig;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Records access-token revocations for the gateways to replicate. Entries are only kept until
+ * the tokens they cover would have expired anyway.
+ */
+@Slf4j
+@Service
+public class DefaultTokenRevocationService implements TokenRevocationService {
+
+    private final RevokedTokenRepository repository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtParser parser;
+    private final Duration accessTtl;
+
+    public DefaultTokenRevocationService(RevokedTokenRepository repository,
+                                         RefreshTokenRepository refreshTokenRepository,
+                                         TokenJwtConfig tokenJwtConfig,
+                                         @Value("${auth.jwt.access-ttl:PT15M}") Duration accessTtl) {
+        this.repository = repository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.parser = Jwts.parser().verifyWith(tokenJwtConfig.getSecretKey()).build();
+        this.accessTtl = accessTtl;
+    }
+
+    @Override
+    public void revokeAccessToken(String authorizationHeader) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith(TokenJwtConfig.PREFIX_TOKEN)) {
+            return;
+        }
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(authorizationHeader.substring(TokenJwtConfig.PREFIX_TOKEN.length())).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid or already expired: nothing left to revoke
+            return;
+        }
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            return;
+        }
+
+        RevokedToken revoked = new RevokedToken();
+        revoked.setJti(claims.getId());
+        revoked.setRevokedAt(Instant.now());
+        revoked.setExpiresAt(claims.getExpiration().toInstant());
+        repository.save(revoked);
+    }
+
+    @Transactional
+    @Override
+    public void revokeUser(Long userId) {
+        Instant now = Instant.now();
+        RevokedToken revoked = new RevokedToken();
+        revoked.setUserId(userId);
+        revoked.setRevokedAt(now);
+        // Every token issued before now has expired after one access-token lifetime
+        revoked.setExpiresAt(now.plus(accessTtl));
+        repository.save(revoked);
+
+        refreshTokenRepository.revokeAllForUser(userId);
+        log.info("Revoked the outstanding tokens of user {}", userId);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<RevocationResponse> findSince(Instant since, Long afterId) {
+        return repository.findTop1000ByRevokedAtGreaterThanEqualAndIdGreaterThanAndExpiresAtAfterOrderByIdAsc(
+                        since != null ? since : Instant.EPOCH, afterId != null ? afterId : 0L, Instant.now())
+                .stream()
+                .map(revoked -> new RevocationResponse(
+                        revoked.getId(),
+                        revoked.getJti(),
+                        revoked.getUserId(),
+                        revoked.getRevokedAt().toEpochMilli(),
+                        revoked.getExpiresAt().toEpochMilli()))
+                .toList();
+    }
+}
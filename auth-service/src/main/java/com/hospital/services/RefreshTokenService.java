@@ -0,0 +1,11 @@
+package com.hospital.services;
+
+import com.hospital.dtos.TokenResponse;
+
+public interface RefreshTokenService {
+
+    String issue(Long userId);
+    TokenResponse refresh(String refreshToken);
+    void revoke(String refreshToken);
+
+}
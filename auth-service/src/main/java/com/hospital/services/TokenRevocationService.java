@@ -0,0 +1,14 @@
+package com.hospital.services;
+
+import com.hospital.dtos.RevocationResponse;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TokenRevocationService {
+
+    void revokeAccessToken(String authorizationHeader);
+    void revokeUser(Long userId);
+    List<RevocationResponse> findSince(Instant since, Long afterId);
+
+}
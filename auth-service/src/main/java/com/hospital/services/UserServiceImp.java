@@ -1,7 +1,6 @@
 package com.hospital.services;
 
 import com.hospital.dtos.CreateUserRequest;
-import com.hospital.dtos.MedicalCenterDto;
 import com.hospital.dtos.UpdateUserRequest;
 import com.hospital.dtos.UserResponse;
 import com.hospital.entities.Role;
@@ -33,9 +32,11 @@ public class UserServiceImp implements UserService {
 
     private final UserRepository repository;
     private final AdminServiceWrapper wrapper;
+    private final CenterDirectory centerDirectory;
     private final RoleService roleService;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper mapper;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     public Page<UserResponse> findAll(Pageable pageable, boolean includeDeleted) {
@@ -55,17 +56,13 @@ public class UserServiceImp implements UserService {
                 .distinct()
                 .toList();
 
-        // Llamar al admin-service en batch
-        List<MedicalCenterDto> centers = wrapper.getCentersById(centerIds, includeDeleted);
-
-        // Convertir a Map<Long, String> para acceso rápido
-        Map<Long, String> centersMap = centers.stream()
-                .collect(Collectors.toMap(MedicalCenterDto::getId, MedicalCenterDto::getName));
+        // Nombres desde el directorio local: la página no espera al admin-service
+        Map<Long, String> centersMap = centerDirectory.namesOf(centerIds);
 
         // Mapear usuarios a UserResponse con el nombre del centro
         return users.map(user -> {
             UserResponse dto = mapper.toUserResponse(user);
-            String centerName = centersMap.getOrDefault(user.getCenterId(), "Centro desconocido");
+            String centerName = centersMap.getOrDefault(user.getCenterId(), CenterDirectory.UNKNOWN_CENTER);
             dto.setCenterName(centerName);
             return dto;
         });
@@ -89,17 +86,13 @@ public class UserServiceImp implements UserService {
                 .distinct()
                 .toList();
 
-        // Llamar al admin-service en batch
-        List<MedicalCenterDto> centers = wrapper.getCentersById(centerIds, includeDeleted);
-
-        // Convertir a Map<Long, String> para acceso rápido
-        Map<Long, String> centersMap = centers.stream()
-                .collect(Collectors.toMap(MedicalCenterDto::getId, MedicalCenterDto::getName));
+        // Nombres desde el directorio local: la página no espera al admin-service
+        Map<Long, String> centersMap = centerDirectory.namesOf(centerIds);
 
         // Mapear usuarios a UserResponse con el nombre del centro
         return users.map(user -> {
             UserResponse dto = mapper.toUserResponse(user);
-            String centerName = centersMap.getOrDefault(user.getCenterId(), "Centro desconocido");
+            String centerName = centersMap.getOrDefault(user.getCenterId(), CenterDirectory.UNKNOWN_CENTER);
             dto.setCenterName(centerName);
             return dto;
         });
@@ -205,6 +198,7 @@ public class UserServiceImp implements UserService {
         User user = repository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
         repository.delete(user);
+        tokenRevocationService.revokeUser(id);
     }
 
     @Override
@@ -213,6 +207,7 @@ public class UserServiceImp implements UserService {
         User user = repository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
         repository.hardDeleteById(user.getId());
+        tokenRevocationService.revokeUser(user.getId());
     }
 
     @Override
@@ -0,0 +1,136 @@
+package com.hospital.services;
+
+import com.hospital.repositories.EmailOutboxRepository;
+import com.hospital.repositories.VerificationTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Periodically deletes expired or used password-reset tokens, and outbox e-mails that were sent or
+ * gave up longer than the retention ago, in bounded batches.
+ * Each batch runs in its own transaction behind a PostgreSQL advisory lock, so with several
+ * auth-service instances only one purges at a time; the others skip the run.
+ */
+@Slf4j
+@Component
+public class VerificationTokenPurgeJob {
+
+    // Clave del advisory lock de la purga (mismo esquema que init.sql: prefijo << 32)
+    private static final long LOCK_KEY = 987655L << 32;
+
+    private final VerificationTokenRepository repository;
+    private final EmailOutboxRepository outboxRepository;
+    private final TransactionTemplate transaction;
+    private final Duration outboxRetention;
+    private final int batchSize;
+    private final int maxBatches;
+    private final ScheduledExecutorService scheduler;
+
+    private final Counter purged;
+    private final Counter outboxPurged;
+    private final Timer duration;
+
+    public VerificationTokenPurgeJob(VerificationTokenRepository repository,
+                                     EmailOutboxRepository outboxRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${auth.tokens.purge.enabled:true}") boolean enabled,
+                                     @Value("${auth.tokens.purge.interval:PT1H}") Duration interval,
+                                     @Value("${auth.tokens.purge.batch-size:1000}") int batchSize,
+                                     @Value("${auth.tokens.purge.max-batches:100}") int maxBatches,
+                                     @Value("${auth.mail.outbox.retention:P7D}") Duration outboxRetention) {
+        this.repository = repository;
+        this.outboxRepository = outboxRepository;
+        this.outboxRetention = outboxRetention;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatches = Math.max(1, maxBatches);
+
+        this.purged = Counter.builder("auth.tokens.purged")
+                .description("Expired or used verification tokens deleted by the purge job")
+                .register(meterRegistry);
+        this.outboxPurged = Counter.builder("auth.mail.outbox.purged")
+                .description("Sent or failed outbox e-mails deleted by the purge job")
+                .register(meterRegistry);
+        this.duration = Timer.builder("auth.tokens.purge")
+                .description("Duration of a verification token purge run")
+                .register(meterRegistry);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "verification-token-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            long period = Math.max(60_000, interval.toMillis());
+            scheduler.scheduleWithFixedDelay(this::purge, Math.min(period, 300_000), period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void purge() {
+        long start = System.nanoTime();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            long tokens = purgeBatches("verification tokens", purged,
+                    () -> repository.deleteExpiredOrUsedBatch(now, batchSize));
+            if (tokens < 0) {
+                return;
+            }
+            purgeBatches("outbox e-mails", outboxPurged,
+                    () -> outboxRepository.deleteFinishedBatch(now.minus(outboxRetention), batchSize));
+        } finally {
+            duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * @return rows deleted, or -1 if another instance holds the lock
+     */
+    private long purgeBatches(String what, Counter counter, IntSupplier deleteBatch) {
+        long total = 0;
+        try {
+            for (int batch = 0; batch < maxBatches; batch++) {
+                Integer deleted = transaction.execute(status -> {
+                    if (!repository.tryAdvisoryXactLock(LOCK_KEY)) {
+                        return -1;
+                    }
+                    return deleteBatch.getAsInt();
+                });
+                if (deleted == null || deleted < 0) {
+                    log.debug("Purge of {} skipped: another instance holds the lock", what);
+                    return -1;
+                }
+                total += deleted;
+                counter.increment(deleted);
+                if (deleted < batchSize) {
+                    break;
+                }
+            }
+            if (total > 0) {
+                log.info("Purged {} {}", total, what);
+            }
+        } catch (Exception e) {
+            log.warn("Purge of {} failed after {} rows: {}", what, total, e.getMessage());
+        }
+        return total;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
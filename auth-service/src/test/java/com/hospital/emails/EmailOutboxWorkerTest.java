@@ -0,0 +1,175 @@
+package com.hospital.emails;
+
+import com.hospital.entities.EmailOutboxMessage;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Multipart;
+import jakarta.mail.Part;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The outbox worker against an embedded SMTP server; the database side of the outbox is mocked.
+ * The mail sender takes its JavaMail properties from application.yml, SMTP timeouts included.
+ */
+class EmailOutboxWorkerTest {
+
+    @RegisterExtension
+    static final GreenMailExtension SMTP = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Duration LEASE = Duration.ofMinutes(2);
+    private static final String MAIL_PROPERTIES = "spring.mail.properties.";
+
+    private final EmailOutbox outbox = mock(EmailOutbox.class);
+    private EmailOutboxWorker worker;
+
+    @AfterEach
+    void tearDown() {
+        if (worker != null) {
+            worker.shutdown();
+        }
+    }
+
+    @Test
+    void sendsRenderedTemplateAndMarksItSent() throws Exception {
+        String html = new EmailTemplates().render(EmailTemplates.PASSWORD_RESET, Map.of(
+                "user", "Ana <Pérez>",
+                "reset_url", "https://hospital.example/reset?token=abc"));
+        when(outbox.claimDue(anyInt(), any())).thenReturn(List.of(message(1L, html)), List.of());
+
+        worker = worker(mailSender(SMTP.getSmtp().getPort()));
+        worker.onEnqueued(new EmailOutbox.EmailEnqueuedEvent(1L));
+
+        assertThat(SMTP.waitForIncomingEmail(5_000, 1)).isTrue();
+        MimeMessage received = SMTP.getReceivedMessages()[0];
+        assertThat(received.getAllRecipients()[0].toString()).isEqualTo("ana@hospital.example");
+        assertThat(received.getSubject()).isEqualTo("Restablece tu contraseña");
+        String body = html(received);
+        assertThat(body).contains("https://hospital.example/reset?token=abc");
+        // Values are HTML-escaped by the template
+        assertThat(body).contains("Ana &lt;P&eacute;rez&gt;");
+
+        verify(outbox, timeout(5_000)).markSent(1L);
+        verify(outbox, never()).markAttemptFailed(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void schedulesRetryWhenSmtpIsUnreachable() throws Exception {
+        when(outbox.claimDue(anyInt(), any())).thenReturn(List.of(message(2L, "<p>hola</p>")), List.of());
+        when(outbox.markAttemptFailed(any(), any(), anyInt(), any())).thenReturn(true);
+
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        worker = worker(mailSender(closedPort));
+        worker.onEnqueued(new EmailOutbox.EmailEnqueuedEvent(2L));
+
+        verify(outbox, timeout(5_000)).markAttemptFailed(eq(2L), any(), eq(MAX_ATTEMPTS), any(Duration.class));
+        verify(outbox, never()).markSent(any());
+    }
+
+    @Test
+    void configuredTimeoutsFailHungServerWellWithinTheLease() throws Exception {
+        when(outbox.claimDue(anyInt(), any())).thenReturn(List.of(message(3L, "<p>hola</p>")), List.of());
+        when(outbox.markAttemptFailed(any(), any(), anyInt(), any())).thenReturn(true);
+
+        // Accepts the connection but never sends the SMTP greeting
+        try (ServerSocket hung = new ServerSocket(0)) {
+            Thread acceptor = new Thread(() -> {
+                try (Socket ignored = hung.accept()) {
+                    Thread.sleep(LEASE.toMillis());
+                } catch (Exception ignored) {
+                    // closed by the test
+                }
+            });
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            worker = worker(mailSender(hung.getLocalPort()));
+            worker.onEnqueued(new EmailOutbox.EmailEnqueuedEvent(3L));
+
+            verify(outbox, timeout(LEASE.dividedBy(4).toMillis()))
+                    .markAttemptFailed(eq(3L), any(), eq(MAX_ATTEMPTS), any(Duration.class));
+            verify(outbox, never()).markSent(any());
+        }
+    }
+
+    private EmailOutboxWorker worker(JavaMailSenderImpl mailSender) {
+        return new EmailOutboxWorker(outbox, new EmailService(mailSender), new SimpleMeterRegistry(),
+                1, 20, MAX_ATTEMPTS, LEASE, Duration.ofSeconds(30), Duration.ofMinutes(30),
+                Duration.ofHours(1));
+    }
+
+    private static JavaMailSenderImpl mailSender(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(port);
+        Properties mail = sender.getJavaMailProperties();
+        applicationYml().forEach((key, value) -> {
+            String name = key.toString();
+            if (name.startsWith(MAIL_PROPERTIES)) {
+                mail.put(name.substring(MAIL_PROPERTIES.length()), value.toString());
+            }
+        });
+        // GreenMail speaks plain SMTP without authentication
+        mail.put("mail.smtp.auth", "false");
+        mail.put("mail.smtp.starttls.enable", "false");
+        assertThat(mail).containsKeys("mail.smtp.connectiontimeout", "mail.smtp.timeout", "mail.smtp.writetimeout");
+        return sender;
+    }
+
+    private static Properties applicationYml() {
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application.yml"));
+        return yaml.getObject();
+    }
+
+    private static String html(Part part) throws Exception {
+        if (part.isMimeType("text/html")) {
+            return (String) part.getContent();
+        }
+        if (part.getContent() instanceof Multipart multipart) {
+            for (int i = 0; i < multipart.getCount(); i++) {
+                String html = html(multipart.getBodyPart(i));
+                if (html != null) {
+                    return html;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static EmailOutboxMessage message(Long id, String html) {
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setId(id);
+        message.setRecipient("ana@hospital.example");
+        message.setSubject("Restablece tu contraseña");
+        message.setBody(html);
+        return message;
+    }
+}
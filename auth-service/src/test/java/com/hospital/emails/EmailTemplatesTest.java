@@ -0,0 +1,26 @@
+package com.hospital.emails;
+
+import com.hospital.exceptions.EmailTemplateException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailTemplatesTest {
+
+    private static final String LOCATION = "classpath:templates/emails/*.html";
+
+    @Test
+    void loadsEveryRequiredTemplate() {
+        assertThatCode(EmailTemplates::new).doesNotThrowAnyException();
+    }
+
+    @Test
+    void missingRequiredTemplateFailsAtConstruction() {
+        assertThatThrownBy(() -> new EmailTemplates(LOCATION, Set.of(EmailTemplates.PASSWORD_RESET, "welcome")))
+                .isInstanceOf(EmailTemplateException.class)
+                .hasMessageContaining("welcome");
+    }
+}
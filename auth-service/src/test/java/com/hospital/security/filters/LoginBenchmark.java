@@ -0,0 +1,165 @@
+package com.hospital.security.filters;
+
+import com.hospital.dtos.TokenResponse;
+import com.hospital.entities.Role;
+import com.hospital.entities.User;
+import com.hospital.security.configs.AccessTokenIssuer;
+import com.hospital.security.configs.BoundedPasswordEncoder;
+import com.hospital.security.configs.CustomUserDetails;
+import com.hospital.security.configs.TokenJwtConfig;
+import com.hospital.security.throttle.LoginThrottle;
+import com.hospital.services.RefreshTokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logins per second per core through {@link JwtAuthenticationFilter}, with a single benchmark
+ * thread and a single verification thread:
+ * <ul>
+ *     <li>{@code bcryptOnly}: one BCrypt verification at the default strength, the floor of any login</li>
+ *     <li>{@code login}: the filter's own {@code attemptAuthentication} and {@code successfulAuthentication}
+ *     on a mock request, with a {@link DaoAuthenticationProvider} verifying through {@link BoundedPasswordEncoder}</li>
+ * </ul>
+ * The user lookup and the refresh-token insert are database round trips: an in-memory user and a stub
+ * {@link RefreshTokenService} stand in for them. Run from the repository root with:
+ * <pre>
+ * mvn -pl auth-service test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath org.openjdk.jmh.Main LoginBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(1)
+public class LoginBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-with-at-least-256-bits-of-entropy!!";
+    private static final String USERNAME = "1710034065";
+    private static final String PASSWORD = "Password123!";
+
+    private byte[] requestBody;
+    private String passwordHash;
+    private BCryptPasswordEncoder bcrypt;
+    private BoundedPasswordEncoder boundedEncoder;
+    private JwtAuthenticationFilter filter;
+
+    @Setup
+    public void setUp() {
+        requestBody = ("{\"username\":\"" + USERNAME + "\",\"password\":\"" + PASSWORD + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        bcrypt = new BCryptPasswordEncoder();
+        passwordHash = bcrypt.encode(PASSWORD);
+        boundedEncoder = new BoundedPasswordEncoder(bcrypt, new SimpleMeterRegistry(), 1, 16, Duration.ofSeconds(10));
+
+        User user = user(passwordHash);
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(username -> {
+            if (!USERNAME.equals(username)) {
+                throw new UsernameNotFoundException(username);
+            }
+            return new CustomUserDetails(user);
+        });
+        provider.setPasswordEncoder(boundedEncoder);
+
+        LoginThrottle throttle = new LoginThrottle(new SimpleMeterRegistry(), Duration.ofMinutes(15), 5, 30, 100_000);
+        AccessTokenIssuer issuer = new AccessTokenIssuer(new TokenJwtConfig(SECRET), Duration.ofMinutes(15));
+        filter = new JwtAuthenticationFilter(new ProviderManager(provider), issuer, new StubRefreshTokenService(), throttle);
+    }
+
+    @TearDown
+    public void tearDown() {
+        boundedEncoder.shutdown();
+    }
+
+    @Benchmark
+    public boolean bcryptOnly() {
+        return bcrypt.matches(PASSWORD, passwordHash);
+    }
+
+    @Benchmark
+    public String login() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setContentType("application/json");
+        request.setContent(requestBody);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Authentication authentication = filter.attemptAuthentication(request, response);
+        filter.successfulAuthentication(request, response, new MockFilterChain(), authentication);
+        if (response.getStatus() != 200) {
+            throw new IllegalStateException("Benchmark login failed with " + response.getStatus());
+        }
+        return response.getContentAsString();
+    }
+
+    private static User user(String passwordHash) {
+        Role role = new Role();
+        role.setId(3L);
+        role.setName("ROLE_PATIENT");
+
+        User user = new User();
+        user.setId(42L);
+        user.setUsername(USERNAME);
+        user.setEmail("paciente@hospital.example");
+        user.setPassword(passwordHash);
+        user.setCenterId(3L);
+        user.setEnabled(true);
+        user.setRoles(Set.of(role));
+        return user;
+    }
+
+    /**
+     * Stands in for the refresh-token insert, a database round trip
+     */
+    private static final class StubRefreshTokenService implements RefreshTokenService {
+
+        @Override
+        public String issue(Long userId) {
+            return "benchmark-refresh-token";
+        }
+
+        @Override
+        public TokenResponse refresh(String refreshToken) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void revoke(String refreshToken) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoginBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
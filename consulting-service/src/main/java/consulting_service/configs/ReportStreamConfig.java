@@ -0,0 +1,36 @@
+package consulting_service.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool acotado donde se generan los reportes progresivos (SSE),
+ * para no retener hilos del servidor mientras se calculan las secciones.
+ * La cola también es acotada: con el pool y la cola llenos la petición se rechaza (503)
+ * en lugar de esperar más que el timeout del propio stream.
+ */
+@Configuration
+public class ReportStreamConfig {
+
+    @Bean(name = "reportStreamExecutor", destroyMethod = "shutdown")
+    public ExecutorService reportStreamExecutor(@Value("${reports.stream.max-concurrency:4}") int maxConcurrency,
+                                                @Value("${reports.stream.queue-capacity:16}") int queueCapacity) {
+        int threads = Math.max(1, maxConcurrency);
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "report-stream-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
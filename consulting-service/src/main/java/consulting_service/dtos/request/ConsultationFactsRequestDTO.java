@@ -0,0 +1,24 @@
+package consulting_service.dtos.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for requesting the compact consultation fact set
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsultationFactsRequestDTO {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<Long> medicalCenters;
+    private List<Long> doctors;
+}
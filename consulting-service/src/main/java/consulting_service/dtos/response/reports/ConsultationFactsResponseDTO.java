@@ -0,0 +1,40 @@
+package consulting_service.dtos.response.reports;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact consultation fact set.
+ * Each fact only carries ids; names are sent once per id in the lookup maps.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsultationFactsResponseDTO {
+
+    private List<ConsultationFactDTO> facts;
+    private Map<Long, String> doctorNames;
+    private Map<Long, String> doctorSpecialties;
+    private Map<Long, String> centerNames;
+    private Map<Long, String> patientNames;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ConsultationFactDTO {
+        private Long consultationId;
+        private LocalDateTime date;
+        private Long centerId;
+        private Long doctorId;
+        private Long patientId;
+        private String status;
+    }
+}
@@ -1,30 +1,58 @@
 package consulting_service.rests;
 
 import consulting_service.dtos.request.*;
+import consulting_service.dtos.response.reports.ConsultationFactsResponseDTO;
 import consulting_service.dtos.response.reports.DoctorReportResponseDTO;
 import consulting_service.dtos.response.reports.MedicalCenterReportResponseDTO;
 import consulting_service.dtos.response.reports.MonthlyReportResponseDTO;
 import consulting_service.dtos.response.reports.SpecialtyReportResponseDTO;
 import consulting_service.security.annotations.RolesAllowed;
+import consulting_service.services.reports.ConsultationFactsService;
 import consulting_service.services.reports.ReportGenerationService;
-import lombok.RequiredArgsConstructor;
+import consulting_service.services.reports.ReportSectionSink;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
  * Refactored controller for reports with proper DTOs and service separation
  */
 @RestController
 @Slf4j
-@RequiredArgsConstructor
 @RequestMapping("/api/consulting/reports")
 public class ReportController {
 
     private final ReportGenerationService reportService;
+    private final ConsultationFactsService factsService;
+    private final ExecutorService streamExecutor;
+    private final long streamTimeoutMillis;
+
+    public ReportController(ReportGenerationService reportService,
+                            ConsultationFactsService factsService,
+                            @Qualifier("reportStreamExecutor") ExecutorService streamExecutor,
+                            @Value("${reports.stream.timeout:PT2M}") Duration streamTimeout) {
+        this.reportService = reportService;
+        this.factsService = factsService;
+        this.streamExecutor = streamExecutor;
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+    }
 
     @RolesAllowed({"ADMIN", "DOCTOR"})
     @PostMapping("/by-specialty")
@@ -144,4 +172,127 @@ public class ReportController {
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Compact fact set used by report-service to derive every dashboard view from a single fetch
+     */
+    @RolesAllowed({"ADMIN", "DOCTOR"})
+    @PostMapping("/facts")
+    public ResponseEntity<ConsultationFactsResponseDTO> getConsultationFacts(
+            @RequestBody ConsultationFactsRequestDTO request) {
+
+        log.info("Received request for consultation facts: {}", request);
+        try {
+            return ResponseEntity.ok(factsService.getFacts(request));
+        } catch (Exception e) {
+            log.error("Error generating consultation facts", e);
+            throw e;
+        }
+    }
+
+    /*
+     * Progressive variants of the reports above: each section is sent as a Server-Sent Event
+     * ("summary", "statistics", ...) as soon as it is computed, followed by a final "complete" event
+     */
+
+    @RolesAllowed({"ADMIN", "DOCTOR"})
+    @PostMapping(value = "/by-specialty/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamConsultationsBySpecialty(
+            @RequestBody SpecialtyReportRequestDTO request) {
+
+        log.info("Received request for streamed specialty report: {}", request);
+        Pageable pageable = toPageable(request.getPage(), request.getSize(), request.getSortBy(), request.getSortDirection());
+        return stream(sink -> reportService.streamSpecialtyReport(request, pageable, sink));
+    }
+
+    @RolesAllowed({"ADMIN", "DOCTOR"})
+    @PostMapping(value = "/by-doctor/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamConsultationsByDoctor(
+            @RequestBody DoctorReportRequestDTO request) {
+
+        log.info("Received request for streamed doctor report: {}", request);
+        Pageable pageable = toPageable(request.getPage(), request.getSize(), request.getSortBy(), request.getSortDirection());
+        return stream(sink -> reportService.streamDoctorReport(request, pageable, sink));
+    }
+
+    @RolesAllowed({"ADMIN", "DOCTOR"})
+    @PostMapping(value = "/by-center/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamConsultationsByMedicalCenter(
+            @RequestBody MedicalCenterReportRequestDTO request) {
+
+        log.info("Received request for streamed medical center report: {}", request);
+        Pageable pageable = toPageable(request.getPage(), request.getSize(), request.getSortBy(), request.getSortDirection());
+        return stream(sink -> reportService.streamMedicalCenterReport(request, pageable, sink));
+    }
+
+    @RolesAllowed({"ADMIN", "DOCTOR"})
+    @PostMapping(value = "/by-month/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamConsultationsByMonth(
+            @RequestBody MonthlyReportRequestDTO request) {
+
+        log.info("Received request for streamed monthly report: {}", request);
+        return stream(sink -> reportService.streamMonthlyReport(request, sink));
+    }
+
+    /**
+     * Runs the generation on the stream pool and relays every section to the client as it is emitted.
+     * Answers 503 when the pool and its queue are full; a queued job whose client already left
+     * (completed, timed out or failed) is skipped.
+     */
+    private ResponseEntity<SseEmitter> stream(Consumer<ReportSectionSink> generation) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        AtomicBoolean finished = new AtomicBoolean();
+        emitter.onCompletion(() -> finished.set(true));
+        emitter.onTimeout(() -> finished.set(true));
+        emitter.onError(e -> finished.set(true));
+
+        ReportSectionSink sink = (section, payload) -> {
+            if (finished.get()) {
+                throw new UncheckedIOException(new IOException("Client is gone"));
+            }
+            try {
+                emitter.send(SseEmitter.event().name(section).data(payload, MediaType.APPLICATION_JSON));
+            } catch (IOException e) {
+                // The client went away: abort the remaining sections
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        try {
+            streamExecutor.execute(() -> {
+                if (finished.get()) {
+                    log.debug("Skipping streamed report, client is gone");
+                    return;
+                }
+                try {
+                    generation.accept(sink);
+                    emitter.send(SseEmitter.event().name("complete").data("{}", MediaType.APPLICATION_JSON));
+                    emitter.complete();
+                } catch (UncheckedIOException | IOException e) {
+                    log.debug("Streamed report aborted: {}", e.getMessage());
+                    emitter.completeWithError(e);
+                } catch (Exception e) {
+                    log.error("Error generating streamed report", e);
+                    emitter.completeWithError(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Streamed report rejected, stream pool is full");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .header("Cache-Control", "no-cache")
+                // Disables response buffering on nginx-style proxies in front of the gateway
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    private Pageable toPageable(Integer page, Integer size, String sortBy, String sortDirection) {
+        Sort sort = sortBy != null && !sortBy.isEmpty() ? Sort.by(sortBy) : Sort.by("date");
+        sort = sortDirection != null && sortDirection.equalsIgnoreCase("asc") ? sort.ascending() : sort.descending();
+        return org.springframework.data.domain.PageRequest.of(page != null ? page : 0, size != null ? size : 20, sort);
+    }
+}
@@ -0,0 +1,105 @@
+package consulting_service.services.reports;
+
+import consulting_service.dtos.request.ConsultationFactsRequestDTO;
+import consulting_service.dtos.response.reports.ConsultationFactsResponseDTO;
+import consulting_service.entities.MedicalConsultation;
+import consulting_service.entities.Patient;
+import consulting_service.feign.admin_service.dtos.DoctorRead;
+import consulting_service.feign.admin_service.dtos.MedicalCenterRead;
+import consulting_service.repositories.MedicalConsultationsRepository;
+import consulting_service.repositories.PatientRepository;
+import consulting_service.specifications.MedicalConsultationSpecifications;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Servicio que construye el conjunto compacto de hechos de consultas para el dashboard.
+ * Consulta la base de datos una sola vez y enriquece cada doctor, centro y paciente una sola vez.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ConsultationFactsService {
+
+    private final MedicalConsultationsRepository consultationsRepository;
+    private final PatientRepository patientRepository;
+    private final ReportEnrichmentService enrichmentService;
+    private final ReportUtilsService reportUtils;
+
+    /**
+     * Obtiene los hechos de consultas que cumplen los filtros
+     */
+    public ConsultationFactsResponseDTO getFacts(ConsultationFactsRequestDTO request) {
+        LocalDateTime startDate = reportUtils.toStartOfDay(request.getStartDate());
+        LocalDateTime endDate = reportUtils.toEndOfDay(request.getEndDate());
+
+        Specification<MedicalConsultation> spec = MedicalConsultationSpecifications.withFilters(
+                startDate,
+                endDate,
+                null,
+                request.getMedicalCenters(),
+                request.getDoctors(),
+                null
+        );
+        List<MedicalConsultation> consultations = consultationsRepository.findAll(spec, Sort.by("date"));
+
+        List<ConsultationFactsResponseDTO.ConsultationFactDTO> facts = new ArrayList<>(consultations.size());
+        Set<Long> doctorIds = new HashSet<>();
+        Set<Long> centerIds = new HashSet<>();
+        Set<Long> patientIds = new HashSet<>();
+
+        for (MedicalConsultation consultation : consultations) {
+            facts.add(ConsultationFactsResponseDTO.ConsultationFactDTO.builder()
+                    .consultationId(consultation.getId())
+                    .date(consultation.getDate())
+                    .centerId(consultation.getCenterId())
+                    .doctorId(consultation.getDoctorId())
+                    .patientId(consultation.getPatientId())
+                    .status(Boolean.TRUE.equals(consultation.getDeleted()) ? "CANCELLED" : "ACTIVE")
+                    .build());
+            if (consultation.getDoctorId() != null) doctorIds.add(consultation.getDoctorId());
+            if (consultation.getCenterId() != null) centerIds.add(consultation.getCenterId());
+            if (consultation.getPatientId() != null) patientIds.add(consultation.getPatientId());
+        }
+
+        Map<Long, String> doctorNames = new HashMap<>();
+        Map<Long, String> doctorSpecialties = new HashMap<>();
+        for (Long doctorId : doctorIds) {
+            DoctorRead doctor = enrichmentService.getDoctorInfo(doctorId);
+            doctorNames.put(doctorId, enrichmentService.formatDoctorName(doctor, doctorId));
+            doctorSpecialties.put(doctorId, doctor != null && doctor.specialtyName() != null ?
+                    doctor.specialtyName() : "Sin especialidad");
+        }
+
+        Map<Long, String> centerNames = new HashMap<>();
+        for (Long centerId : centerIds) {
+            MedicalCenterRead center = enrichmentService.getCenterInfo(centerId);
+            centerNames.put(centerId, center != null && center.name() != null ?
+                    center.name() : "Centro ID: " + centerId);
+        }
+
+        Map<Long, String> patientNames = new HashMap<>();
+        for (Patient patient : patientRepository.findAllById(patientIds)) {
+            patientNames.put(patient.getId(), patient.getFirstName() + " " + patient.getLastName());
+        }
+
+        log.info("Hechos de consultas generados: {} consultas, {} doctores, {} centros",
+                facts.size(), doctorIds.size(), centerIds.size());
+
+        return ConsultationFactsResponseDTO.builder()
+                .facts(facts)
+                .doctorNames(doctorNames)
+                .doctorSpecialties(doctorSpecialties)
+                .centerNames(centerNames)
+                .patientNames(patientNames)
+                .build();
+    }
+}
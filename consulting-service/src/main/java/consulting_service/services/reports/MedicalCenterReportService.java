@@ -12,6 +12,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -40,17 +41,7 @@ public class MedicalCenterReportService {
         LocalDateTime startDate = reportUtils.toStartOfDay(request.getStartDate());
         LocalDateTime endDate = reportUtils.toEndOfDay(request.getEndDate());
 
-        // ✅ Ajuste: ahora enviamos Collections.emptyList() como specialtyIds
-        Specification<MedicalConsultation> spec = MedicalConsultationSpecifications.withFilters(
-                startDate,
-                endDate,
-                null,
-                request.getMedicalCenters(),
-                Collections.emptyList(),   // <-- specialtyIds vacías
-                request.getDoctors()
-        );
-
-        Page<MedicalConsultation> consultationsPage = consultationsRepository.findAll(spec, pageable);
+        Page<MedicalConsultation> consultationsPage = findConsultations(request, startDate, endDate, pageable);
         List<MedicalConsultation> consultations = consultationsPage.getContent();
 
         if (consultations.isEmpty()) {
@@ -67,6 +58,52 @@ public class MedicalCenterReportService {
                 .build();
     }
 
+    /**
+     * Variante progresiva de {@link #generateReport}: emite cada sección en cuanto se calcula.
+     * Sin transacción, para no mantenerla abierta mientras el receptor escribe al cliente
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamReport(MedicalCenterReportRequestDTO request, Pageable pageable, ReportSectionSink sink) {
+        log.info("Generando reporte progresivo de centro médico: {}", request);
+
+        LocalDateTime startDate = reportUtils.toStartOfDay(request.getStartDate());
+        LocalDateTime endDate = reportUtils.toEndOfDay(request.getEndDate());
+
+        Page<MedicalConsultation> consultationsPage = findConsultations(request, startDate, endDate, pageable);
+        List<MedicalConsultation> consultations = consultationsPage.getContent();
+
+        if (consultations.isEmpty()) {
+            MedicalCenterReportResponseDTO empty = buildEmptyMedicalCenterResponse();
+            sink.emit("summary", empty.getExecutiveSummary());
+            sink.emit("statistics", empty.getCenterStatistics());
+            sink.emit("weeklyDistribution", empty.getWeeklyDistribution());
+            sink.emit("kpis", empty.getKpis());
+            sink.emit("detailedConsultations", empty.getDetailedConsultations());
+            sink.emit("pagination", empty.getPaginationInfo());
+            return;
+        }
+
+        sink.emit("summary", buildExecutiveSummary(consultations, startDate, endDate));
+        sink.emit("statistics", buildCenterStatistics(consultations));
+        sink.emit("weeklyDistribution", reportUtils.buildWeeklyDistribution(consultations));
+        sink.emit("kpis", buildCenterKpis(consultations));
+        sink.emit("detailedConsultations", reportDataService.buildDetailedConsultations(consultations, 15));
+        sink.emit("pagination", reportUtils.buildPaginationInfo(consultationsPage));
+    }
+
+    private Page<MedicalConsultation> findConsultations(MedicalCenterReportRequestDTO request,
+                                                        LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+        Specification<MedicalConsultation> spec = MedicalConsultationSpecifications.withFilters(
+                startDate,
+                endDate,
+                null,
+                request.getMedicalCenters(),
+                request.getDoctors(),
+                null // la especialidad no está mapeada en la entidad, no se filtra en BD
+        );
+        return consultationsRepository.findAll(spec, pageable);
+    }
+
     private MedicalCenterReportResponseDTO.ExecutiveSummaryDTO buildExecutiveSummary(
             List<MedicalConsultation> consultations, LocalDateTime start, LocalDateTime end) {
 
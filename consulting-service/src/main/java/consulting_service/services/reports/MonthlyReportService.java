@@ -11,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -39,16 +40,7 @@ public class MonthlyReportService {
         LocalDateTime startDate = reportUtils.toStartOfDay(request.getStartDate());
         LocalDateTime endDate = reportUtils.toEndOfDay(request.getEndDate());
 
-        Specification<MedicalConsultation> spec = MedicalConsultationSpecifications.withFilters(
-                startDate,
-                endDate,
-                null,
-                request.getMedicalCenters(),
-                Collections.emptyList(), // <-- aquí
-                request.getDoctors()
-        );
-        // Para reportes mensuales recuperamos todas las consultas sin paginación
-        List<MedicalConsultation> consultations = consultationsRepository.findAll(spec);
+        List<MedicalConsultation> consultations = findConsultations(request, startDate, endDate);
 
         if (consultations.isEmpty()) {
             return buildEmptyMonthlyResponse();
@@ -61,6 +53,46 @@ public class MonthlyReportService {
                 .build();
     }
 
+    /**
+     * Variante progresiva de {@link #generateReport}: emite cada sección en cuanto se calcula.
+     * Sin transacción, para no mantenerla abierta mientras el receptor escribe al cliente
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamReport(MonthlyReportRequestDTO request, ReportSectionSink sink) {
+        log.info("Generando reporte mensual progresivo: {}", request);
+
+        LocalDateTime startDate = reportUtils.toStartOfDay(request.getStartDate());
+        LocalDateTime endDate = reportUtils.toEndOfDay(request.getEndDate());
+
+        List<MedicalConsultation> consultations = findConsultations(request, startDate, endDate);
+
+        if (consultations.isEmpty()) {
+            MonthlyReportResponseDTO empty = buildEmptyMonthlyResponse();
+            sink.emit("summary", empty.getExecutiveSummary());
+            sink.emit("statistics", empty.getMonthlyStatistics());
+            sink.emit("kpis", empty.getKpis());
+            return;
+        }
+
+        sink.emit("summary", buildExecutiveSummary(consultations, startDate, endDate));
+        sink.emit("statistics", buildMonthlyStatistics(consultations));
+        sink.emit("kpis", buildMonthlyKpis(consultations));
+    }
+
+    private List<MedicalConsultation> findConsultations(MonthlyReportRequestDTO request,
+                                                        LocalDateTime startDate, LocalDateTime endDate) {
+        Specification<MedicalConsultation> spec = MedicalConsultationSpecifications.withFilters(
+                startDate,
+                endDate,
+                null,
+                request.getMedicalCenters(),
+                request.getDoctors(),
+                null // la especialidad no está mapeada en la entidad, no se filtra en BD
+        );
+        // Para reportes mensuales recuperamos todas las consultas sin paginación
+        return consultationsRepository.findAll(spec);
+    }
+
     private MonthlyReportResponseDTO.ExecutiveSummaryDTO buildExecutiveSummary(
             List<MedicalConsultation> consultations, LocalDateTime start, LocalDateTime end) {
 
@@ -6,11 +6,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Fachada para acceder a los distintos servicios de reportes
- * Simplifica el uso de reportes delegando a los servicios especializados
+ * Simplifica el uso de reportes delegando a los servicios especializados.
+ * Los métodos stream* no abren transacción: cada sección se envía al cliente SSE y un cliente lento
+ * no debe retener una conexión JDBC; las consultas usan la transacción corta de cada repositorio.
  */
 @Slf4j
 @Service
@@ -54,4 +57,36 @@ public class ReportGenerationService {
         log.info("Delegando generación de reporte mensual");
         return monthlyReportService.generateReport(request, pageable);
     }
+
+    /**
+     * Emite el reporte por especialidades sección por sección
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamSpecialtyReport(SpecialtyReportRequestDTO request, Pageable pageable, ReportSectionSink sink) {
+        specialtyReportService.streamReport(request, pageable, sink);
+    }
+
+    /**
+     * Emite el reporte de doctores sección por sección
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamDoctorReport(DoctorReportRequestDTO request, Pageable pageable, ReportSectionSink sink) {
+        doctorReportService.streamReport(request, pageable, sink);
+    }
+
+    /**
+     * Emite el reporte de centros médicos sección por sección
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamMedicalCenterReport(MedicalCenterReportRequestDTO request, Pageable pageable, ReportSectionSink sink) {
+        centerReportService.streamReport(request, pageable, sink);
+    }
+
+    /**
+     * Emite el reporte mensual sección por sección
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamMonthlyReport(MonthlyReportRequestDTO request, ReportSectionSink sink) {
+        monthlyReportService.streamReport(request, sink);
+    }
 }
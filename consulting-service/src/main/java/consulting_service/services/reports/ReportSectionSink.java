@@ -0,0 +1,11 @@
+package consulting_service.services.reports;
+
+/**
+ * Receptor de secciones de un reporte generado de forma progresiva.
+ * Cada sección se emite en cuanto se calcula (resumen, estadísticas, distribución semanal, KPIs, detalle).
+ */
+@FunctionalInterface
+public interface ReportSectionSink {
+
+    void emit(String section, Object payload);
+}
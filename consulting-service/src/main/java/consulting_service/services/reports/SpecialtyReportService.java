@@ -15,6 +15,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
@@ -44,21 +45,8 @@ public class SpecialtyReportService {
         LocalDateTime startDate = reportUtils.toStartOfDay(request.getStartDate());
         LocalDateTime endDate = reportUtils.toEndOfDay(request.getEndDate());
 
-        // Primero obtener todas las consultas sin filtrar por especialidad
-        Specification<MedicalConsultation> spec = MedicalConsultationSpecifications.withFilters(
-                startDate,
-                endDate,
-                null, // deleted
-                request.getMedicalCenters(),
-                request.getDoctors(),
-                request.getSpecialties() // ahora sí
-        );
-
-        Page<MedicalConsultation> consultationsPage = consultationsRepository.findAll(spec, pageable);
-        List<MedicalConsultation> allConsultations = consultationsPage.getContent();
-
-        // Filtrar por especialidad en memoria
-        List<MedicalConsultation> filteredConsultations = filterBySpecialty(allConsultations, request.getSpecialties());
+        Page<MedicalConsultation> consultationsPage = findConsultations(request, startDate, endDate, pageable);
+        List<MedicalConsultation> filteredConsultations = filterBySpecialty(consultationsPage.getContent(), request.getSpecialties());
 
         log.info("Consultas después de filtrar por especialidad {}: {}", request.getSpecialties(), filteredConsultations.size());
 
@@ -77,6 +65,55 @@ public class SpecialtyReportService {
                 .build();
     }
 
+    /**
+     * Variante progresiva de {@link #generateReport}: emite cada sección en cuanto se calcula.
+     * Sin transacción, para no mantenerla abierta mientras el receptor escribe al cliente
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamReport(SpecialtyReportRequestDTO request, Pageable pageable, ReportSectionSink sink) {
+        log.info("Generando reporte progresivo de especialidad: {}", request);
+
+        LocalDateTime startDate = reportUtils.toStartOfDay(request.getStartDate());
+        LocalDateTime endDate = reportUtils.toEndOfDay(request.getEndDate());
+
+        Page<MedicalConsultation> consultationsPage = findConsultations(request, startDate, endDate, pageable);
+        List<MedicalConsultation> filteredConsultations = filterBySpecialty(consultationsPage.getContent(), request.getSpecialties());
+
+        if (filteredConsultations.isEmpty()) {
+            SpecialtyReportResponseDTO empty = buildEmptyResponse();
+            sink.emit("summary", empty.getExecutiveSummary());
+            sink.emit("statistics", empty.getSpecialtyStatistics());
+            sink.emit("weeklyDistribution", empty.getWeeklyDistribution());
+            sink.emit("topDoctors", empty.getTopActiveDoctors());
+            sink.emit("kpis", empty.getKpis());
+            sink.emit("detailedConsultations", empty.getDetailedConsultations());
+            sink.emit("pagination", empty.getPaginationInfo());
+            return;
+        }
+
+        sink.emit("summary", buildExecutiveSummary(filteredConsultations, startDate, endDate));
+        sink.emit("statistics", buildSpecialtyStatistics(filteredConsultations));
+        sink.emit("weeklyDistribution", reportUtils.buildWeeklyDistribution(filteredConsultations));
+        sink.emit("topDoctors", buildTopDoctors(filteredConsultations, 10));
+        sink.emit("kpis", buildKpis(filteredConsultations));
+        sink.emit("detailedConsultations", buildDetailedConsultations(filteredConsultations, 20));
+        sink.emit("pagination", buildCustomPaginationInfo(consultationsPage, filteredConsultations.size()));
+    }
+
+    private Page<MedicalConsultation> findConsultations(SpecialtyReportRequestDTO request,
+                                                        LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+        Specification<MedicalConsultation> spec = MedicalConsultationSpecifications.withFilters(
+                startDate,
+                endDate,
+                null, // deleted
+                request.getMedicalCenters(),
+                request.getDoctors(),
+                request.getSpecialties() // ahora sí
+        );
+        // La especialidad se filtra después en memoria (ver filterBySpecialty)
+        return consultationsRepository.findAll(spec, pageable);
+    }
+
     /**
      * Filtra las consultas por especialidad
      */
@@ -87,6 +87,56 @@ CREATE TABLE verification_tokens (
                                              ON DELETE CASCADE
 );
 
+-- findByToken en cada reset; la purga borra por expiración o por uso (BitmapOr de los dos índices)
+CREATE UNIQUE INDEX uq_verification_tokens_token ON verification_tokens(token);
+CREATE INDEX idx_verification_tokens_expiration ON verification_tokens(expiration);
+CREATE INDEX idx_verification_tokens_used ON verification_tokens(id) WHERE used;
+
+-- Table: Refresh tokens (solo se guarda el SHA-256 del token; se rotan en cada uso)
+CREATE TABLE refresh_tokens (
+                                id BIGSERIAL PRIMARY KEY,
+                                user_id BIGINT NOT NULL,
+                                token_hash VARCHAR(64) NOT NULL UNIQUE,
+                                revoked BOOLEAN NOT NULL,
+                                replaced_by BIGINT, -- token emitido al rotarlo; NULL si se revocó por logout
+                                expiration TIMESTAMP NOT NULL,
+                                created_at TIMESTAMP NOT NULL DEFAULT now(),
+                                CONSTRAINT fk_refresh_tokens_user
+                                    FOREIGN KEY (user_id) REFERENCES users(id)
+                                        ON DELETE CASCADE
+);
+
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens(user_id);
+
+-- Table: Revoked tokens (un jti, o todos los tokens de un usuario emitidos antes de revoked_at)
+-- Sin FK a users: la revocación debe sobrevivir al borrado definitivo del usuario
+CREATE TABLE revoked_tokens (
+                                id BIGSERIAL PRIMARY KEY,
+                                jti VARCHAR(64),
+                                user_id BIGINT,
+                                revoked_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                                expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
+
+-- Table: Email outbox (correos pendientes; los envía el worker de auth-service con reintentos)
+CREATE TABLE email_outbox (
+                              id BIGSERIAL PRIMARY KEY,
+                              recipient VARCHAR(255) NOT NULL,
+                              subject VARCHAR(255) NOT NULL,
+                              body TEXT NOT NULL,
+                              status VARCHAR(10) NOT NULL,
+                              attempts INT NOT NULL DEFAULT 0,
+                              next_attempt_at TIMESTAMP NOT NULL,
+                              last_error VARCHAR(500),
+                              created_at TIMESTAMP NOT NULL DEFAULT now(),
+                              sent_at TIMESTAMP
+);
+
+CREATE INDEX idx_email_outbox_due ON email_outbox(status, next_attempt_at);
+
 -- Table: Doctors
 DROP TABLE IF EXISTS doctors CASCADE;
 
@@ -0,0 +1,12 @@
+package com.hospital.gateway.cache;
+
+/**
+ * A cached downstream response: the uncompressed body, its content type and a strong ETag
+ * derived from the body bytes
+ */
+record CachedResponse(byte[] body, String contentType, String eTag, long expiresAtMillis) {
+
+    boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
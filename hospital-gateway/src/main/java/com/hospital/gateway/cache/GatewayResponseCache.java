@@ -0,0 +1,83 @@
+package com.hospital.gateway.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU of cached GET responses with a TTL per entry.
+ * Entries are keyed by path, query and the caller's roles, since catalog responses can differ by role.
+ */
+@Slf4j
+@Component
+public class GatewayResponseCache {
+
+    /**
+     * Cache key. The roles are normalized (sorted, comma separated) by the caller.
+     */
+    record Key(String path, String query, String roles) {
+    }
+
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    // Access-ordered index: iteration starts at the least recently used entry
+    private final LinkedHashMap<Key, CachedResponse> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    public GatewayResponseCache(@Value("${gateway.response-cache.max-entries:500}") int maxEntries,
+                                @Value("${gateway.response-cache.ttl:PT10M}") Duration ttl) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = Math.max(1, ttl.toMillis());
+    }
+
+    /**
+     * @return the cached response, or null if missing or expired
+     */
+    synchronized CachedResponse get(Key key) {
+        CachedResponse cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.isExpired(System.currentTimeMillis())) {
+            entries.remove(key);
+            return null;
+        }
+        return cached;
+    }
+
+    synchronized CachedResponse put(Key key, byte[] body, String contentType, String eTag) {
+        CachedResponse cached = new CachedResponse(body, contentType, eTag, System.currentTimeMillis() + ttlMillis);
+        entries.put(key, cached);
+        Iterator<Map.Entry<Key, CachedResponse>> it = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+        return cached;
+    }
+
+    /**
+     * Removes every entry whose path is the given prefix or lies under it
+     * @param pathPrefix the path prefix, or null to clear the whole cache
+     * @return the number of entries removed
+     */
+    public synchronized int purge(String pathPrefix) {
+        int before = entries.size();
+        if (pathPrefix == null || pathPrefix.isBlank()) {
+            entries.clear();
+        } else {
+            String prefix = pathPrefix.endsWith("/") ? pathPrefix.substring(0, pathPrefix.length() - 1) : pathPrefix;
+            entries.keySet().removeIf(key -> key.path().equals(prefix) || key.path().startsWith(prefix + "/"));
+        }
+        int removed = before - entries.size();
+        if (removed > 0) {
+            log.debug("Purged {} cached responses under {}", removed, pathPrefix);
+        }
+        return removed;
+    }
+}
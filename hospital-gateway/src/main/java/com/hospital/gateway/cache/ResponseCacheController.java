@@ -0,0 +1,51 @@
+package com.hospital.gateway.cache;
+
+import com.hospital.gateway.security.JwtValidationFilter;
+import com.hospital.gateway.security.VerifiedTokenCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Purge endpoint of the gateway response cache, for admin writes that did not go through this gateway instance.
+ * Served by the gateway itself, so the token is checked here rather than by the route filters.
+ */
+@RestController
+@RequestMapping("/gateway/cache")
+public class ResponseCacheController {
+
+    private final GatewayResponseCache cache;
+    private final JwtValidationFilter jwtValidationFilter;
+
+    public ResponseCacheController(GatewayResponseCache cache, JwtValidationFilter jwtValidationFilter) {
+        this.cache = cache;
+        this.jwtValidationFilter = jwtValidationFilter;
+    }
+
+    /**
+     * Purges the cached responses under a path prefix
+     * @param prefix path prefix such as /admin/centers; the whole cache when omitted
+     * @return the number of purged entries
+     */
+    @DeleteMapping
+    public ResponseEntity<Map<String, Integer>> purge(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestParam(value = "prefix", required = false) String prefix) {
+        VerifiedTokenCache.VerifiedToken verified = jwtValidationFilter.authenticate(authorization);
+        if (verified == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (Arrays.stream(verified.roles().split(",")).map(String::trim).noneMatch("ADMIN"::equals)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(Map.of("purged", cache.purge(prefix)));
+    }
+}
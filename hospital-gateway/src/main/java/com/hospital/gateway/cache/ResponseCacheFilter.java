@@ -0,0 +1,259 @@
+package com.hospital.gateway.cache;
+
+import com.hospital.gateway.security.JwtValidationFilter;
+import com.hospital.gateway.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Serves the configured read-mostly GET routes (the admin catalogs) from {@link GatewayResponseCache}.
+ * Hits never reach the downstream service, and an If-None-Match matching the cached ETag gets a 304.
+ * A successful write through the gateway to a cached collection purges it; other gateways
+ * can be purged through {@link ResponseCacheController}.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    private final GatewayResponseCache cache;
+    private final boolean enabled;
+    private final Set<String> paths;
+    private final Set<String> collections;
+    private final int maxEntryBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter notModified;
+
+    public ResponseCacheFilter(GatewayResponseCache cache,
+                               MeterRegistry meterRegistry,
+                               @Value("${gateway.response-cache.enabled:true}") boolean enabled,
+                               @Value("${gateway.response-cache.paths:}") String paths,
+                               @Value("${gateway.response-cache.max-entry-bytes:262144}") int maxEntryBytes) {
+        this.cache = cache;
+        this.enabled = enabled;
+        this.paths = Arrays.stream(paths.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.collections = this.paths.stream()
+                .map(ResponseCacheFilter::collectionOf)
+                .collect(Collectors.toUnmodifiableSet());
+        this.maxEntryBytes = maxEntryBytes;
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.notModified = requests(meterRegistry, "not_modified");
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.cache.requests")
+                .description("Requests to cached gateway routes by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled || paths.isEmpty()) {
+            return chain.filter(exchange);
+        }
+        HttpMethod method = exchange.getRequest().getMethod();
+        String path = exchange.getRequest().getURI().getRawPath();
+
+        if (method != HttpMethod.GET) {
+            if (method == HttpMethod.HEAD || method == HttpMethod.OPTIONS || !collections.contains(collectionOf(path))) {
+                return chain.filter(exchange);
+            }
+            return chain.filter(exchange).doOnSuccess(done -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                if (status != null && status.is2xxSuccessful()) {
+                    cache.purge(collectionOf(path));
+                }
+            });
+        }
+
+        VerifiedTokenCache.VerifiedToken verified = exchange.getAttribute(JwtValidationFilter.VERIFIED_TOKEN_ATTR);
+        if (verified == null || !paths.contains(path)) {
+            return chain.filter(exchange);
+        }
+
+        String query = exchange.getRequest().getURI().getRawQuery();
+        GatewayResponseCache.Key key = new GatewayResponseCache.Key(path, query != null ? query : "", normalizeRoles(verified.roles()));
+        String ifNoneMatch = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+
+        CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            return writeCached(exchange, cached, ifNoneMatch);
+        }
+
+        misses.increment();
+        // The downstream must send the full body so it can be cached; the 304 is decided here
+        ServerWebExchange forwarded = exchange.mutate()
+                .request(exchange.getRequest().mutate().headers(headers -> headers.remove(HttpHeaders.IF_NONE_MATCH)).build())
+                .response(new CachingResponse(exchange.getResponse(), key, ifNoneMatch))
+                .build();
+        return chain.filter(forwarded);
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached, String ifNoneMatch) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.eTag());
+        headers.setCacheControl("no-cache");
+        headers.set("X-Cache", "HIT");
+
+        if (matches(ifNoneMatch, cached.eTag())) {
+            notModified.increment();
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        hits.increment();
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.contentType() != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, cached.contentType());
+        }
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    /**
+     * Buffers a cacheable downstream body, stores it with its ETag and then writes it
+     * (or a 304 when the client already holds it)
+     */
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final GatewayResponseCache.Key key;
+        private final String ifNoneMatch;
+
+        CachingResponse(ServerHttpResponse delegate, GatewayResponseCache.Key key, String ifNoneMatch) {
+            super(delegate);
+            this.key = key;
+            this.ifNoneMatch = ifNoneMatch;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!isCacheable()) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                HttpHeaders headers = getHeaders();
+                headers.set("X-Cache", "MISS");
+                if (bytes.length > maxEntryBytes) {
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                }
+
+                MediaType contentType = headers.getContentType();
+                CachedResponse cached = cache.put(key, bytes, contentType != null ? contentType.toString() : null, eTagOf(bytes));
+                headers.setETag(cached.eTag());
+                headers.setCacheControl("no-cache");
+                headers.remove(HttpHeaders.TRANSFER_ENCODING);
+
+                if (matches(ifNoneMatch, cached.eTag())) {
+                    setStatusCode(HttpStatus.NOT_MODIFIED);
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                    headers.remove(HttpHeaders.CONTENT_TYPE);
+                    return setComplete();
+                }
+                headers.setContentLength(bytes.length);
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+        private boolean isCacheable() {
+            HttpStatusCode status = getStatusCode();
+            HttpHeaders headers = getHeaders();
+            if (status == null || status.value() != HttpStatus.OK.value() || headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+                return false;
+            }
+            MediaType contentType = headers.getContentType();
+            return contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(contentType);
+        }
+    }
+
+    /**
+     * First two path segments, e.g. /admin/centers for /admin/centers/5
+     */
+    private static String collectionOf(String path) {
+        int first = path.indexOf('/', 1);
+        if (first < 0) {
+            return path;
+        }
+        int second = path.indexOf('/', first + 1);
+        return second < 0 ? path : path.substring(0, second);
+    }
+
+    private static String normalizeRoles(String roles) {
+        if (roles == null || roles.indexOf(',') < 0) {
+            return roles != null ? roles : "";
+        }
+        return Arrays.stream(roles.split(",")).map(String::trim).sorted().collect(Collectors.joining(","));
+    }
+
+    /**
+     * If-None-Match uses the weak comparison, so a W/ prefix sent back by a client still matches
+     */
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String eTagOf(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        // After JwtValidationFilter and rate limiting, before the adaptive concurrency limit:
+        // hits must not take a downstream slot nor skew its latency samples
+        return 1;
+    }
+}
@@ -0,0 +1,174 @@
+package com.hospital.gateway.compression;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compresses JSON responses with gzip or deflate according to Accept-Encoding. The body is
+ * encoded chunk by chunk as it streams from the downstream service; everything else
+ * (binary exports, event streams, already encoded or small bodies) passes through untouched.
+ * Bytes saved are counted per route in {@code gateway.compression.bytes.saved}.
+ */
+@Component
+public class ResponseCompressionFilter implements GlobalFilter, Ordered {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long minResponseSize;
+    private final int level;
+    private final List<MediaType> mimeTypes;
+
+    public ResponseCompressionFilter(MeterRegistry meterRegistry,
+                                     @Value("${gateway.compression.enabled:true}") boolean enabled,
+                                     @Value("${gateway.compression.min-response-size:2048}") long minResponseSize,
+                                     @Value("${gateway.compression.level:6}") int level,
+                                     @Value("${gateway.compression.mime-types:application/json,application/*+json}") String mimeTypes) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.minResponseSize = minResponseSize;
+        this.level = level;
+        this.mimeTypes = Arrays.stream(mimeTypes.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(MediaType::parseMediaType)
+                .toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled || exchange.getRequest().getMethod() == HttpMethod.HEAD) {
+            return chain.filter(exchange);
+        }
+        String encoding = negotiate(exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding == null) {
+            return chain.filter(exchange);
+        }
+
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "unrouted";
+        ServerHttpResponse compressing = new CompressingResponse(exchange.getResponse(), encoding, routeId);
+        return chain.filter(exchange.mutate().response(compressing).build());
+    }
+
+    private final class CompressingResponse extends ServerHttpResponseDecorator {
+
+        private final String encoding;
+        private final String routeId;
+
+        CompressingResponse(ServerHttpResponse delegate, String encoding, String routeId) {
+            super(delegate);
+            this.encoding = encoding;
+            this.routeId = routeId;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!shouldCompress()) {
+                return super.writeWith(body);
+            }
+
+            HttpHeaders headers = getHeaders();
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.set(HttpHeaders.CONTENT_ENCODING, encoding);
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+            StreamingCompressor compressor = new StreamingCompressor(encoding, level);
+            Flux<DataBuffer> compressed = Flux.<DataBuffer>from(body)
+                    .map(buffer -> {
+                        byte[] chunk = new byte[buffer.readableByteCount()];
+                        buffer.read(chunk);
+                        DataBufferUtils.release(buffer);
+                        return bufferFactory().wrap(compressor.compress(chunk));
+                    })
+                    .concatWith(Mono.fromCallable(() -> bufferFactory().wrap(compressor.finish())))
+                    .filter(buffer -> buffer.readableByteCount() > 0)
+                    .doOnComplete(() -> savedCounter().increment(Math.max(0, compressor.bytesIn() - compressor.bytesOut())))
+                    .doFinally(signal -> compressor.close());
+            return super.writeWith(compressed);
+        }
+
+        /**
+         * Content-Length is only known for small bodies (the downstream sends larger ones chunked),
+         * so a known length below the threshold is the cheap signal to skip compression
+         */
+        private boolean shouldCompress() {
+            HttpHeaders headers = getHeaders();
+            HttpStatusCode status = getStatusCode();
+            if (status != null && (status.value() == 204 || status.value() == 304)) {
+                return false;
+            }
+            if (headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+                return false;
+            }
+            MediaType contentType = headers.getContentType();
+            if (contentType == null || mimeTypes.stream().noneMatch(type -> type.isCompatibleWith(contentType))) {
+                return false;
+            }
+            long length = headers.getContentLength();
+            return length < 0 || length >= minResponseSize;
+        }
+
+        private Counter savedCounter() {
+            return Counter.builder("gateway.compression.bytes.saved")
+                    .description("Response bytes saved by gateway compression")
+                    .baseUnit("bytes")
+                    .tag("route", routeId)
+                    .tag("encoding", encoding)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Picks gzip, then deflate, among the encodings the client accepts (q=0 means refused)
+     */
+    private static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        boolean deflate = false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String name = tokens[0].trim().toLowerCase();
+            boolean refused = tokens.length > 1 && tokens[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            if (refused) {
+                continue;
+            }
+            if (name.equals("gzip") || name.equals("*")) {
+                return "gzip";
+            }
+            if (name.equals("deflate")) {
+                deflate = true;
+            }
+        }
+        return deflate ? "deflate" : null;
+    }
+
+    @Override
+    public int getOrder() {
+        // Must wrap the response before NettyWriteResponseFilter writes the downstream body
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+}
@@ -0,0 +1,93 @@
+package com.hospital.gateway.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Incremental gzip or deflate (zlib) encoder for one response body. Chunks are compressed
+ * as they arrive, so the body is never held in memory as a whole. Not thread-safe: one
+ * instance per response, fed sequentially.
+ */
+class StreamingCompressor {
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final boolean gzip;
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final byte[] buffer = new byte[8192];
+    private boolean headerWritten;
+    private long bytesIn;
+    private long bytesOut;
+
+    StreamingCompressor(String encoding, int level) {
+        this.gzip = "gzip".equals(encoding);
+        // gzip carries its own header and trailer around raw deflate data; HTTP "deflate" is the zlib format
+        this.deflater = new Deflater(level, gzip);
+    }
+
+    byte[] compress(byte[] chunk) {
+        bytesIn += chunk.length;
+        if (gzip) {
+            crc.update(chunk);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeHeader(out);
+        deflater.setInput(chunk);
+        while (!deflater.needsInput()) {
+            drain(out);
+        }
+        return count(out);
+    }
+
+    byte[] finish() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeHeader(out);
+        deflater.finish();
+        while (!deflater.finished()) {
+            drain(out);
+        }
+        if (gzip) {
+            writeIntLE(out, (int) crc.getValue());
+            writeIntLE(out, (int) bytesIn);
+        }
+        return count(out);
+    }
+
+    void close() {
+        deflater.end();
+    }
+
+    long bytesIn() {
+        return bytesIn;
+    }
+
+    long bytesOut() {
+        return bytesOut;
+    }
+
+    private void drain(ByteArrayOutputStream out) {
+        int written = deflater.deflate(buffer);
+        out.write(buffer, 0, written);
+    }
+
+    private void writeHeader(ByteArrayOutputStream out) {
+        if (gzip && !headerWritten) {
+            out.write(GZIP_HEADER, 0, GZIP_HEADER.length);
+        }
+        headerWritten = true;
+    }
+
+    private byte[] count(ByteArrayOutputStream out) {
+        bytesOut += out.size();
+        return out.toByteArray();
+    }
+
+    private static void writeIntLE(ByteArrayOutputStream out, int value) {
+        out.write(value & 0xff);
+        out.write((value >> 8) & 0xff);
+        out.write((value >> 16) & 0xff);
+        out.write((value >> 24) & 0xff);
+    }
+}
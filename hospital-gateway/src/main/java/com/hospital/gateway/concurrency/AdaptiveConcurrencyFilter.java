@@ -0,0 +1,95 @@
+package com.hospital.gateway.concurrency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sheds load per downstream route once its adaptive in-flight limit is reached, answering 503
+ * immediately instead of queueing behind a slow service. The limit follows the latency each
+ * route is observed to have (see {@link AdaptiveLimit}).
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyFilter implements GlobalFilter, Ordered {
+
+    private final ConcurrentHashMap<String, AdaptiveLimit> limits = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+
+    public AdaptiveConcurrencyFilter(@Value("${gateway.concurrency.enabled:true}") boolean enabled,
+                                     @Value("${gateway.concurrency.initial-limit:20}") int initialLimit,
+                                     @Value("${gateway.concurrency.min-limit:4}") int minLimit,
+                                     @Value("${gateway.concurrency.max-limit:200}") int maxLimit,
+                                     @Value("${gateway.concurrency.smoothing:0.2}") double smoothing) {
+        this.enabled = enabled;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.initialLimit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+        this.smoothing = smoothing;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!enabled || route == null) {
+            return chain.filter(exchange);
+        }
+
+        AdaptiveLimit limit = limits.computeIfAbsent(route.getId(),
+                id -> new AdaptiveLimit(initialLimit, minLimit, maxLimit, smoothing));
+        if (!limit.tryAcquire()) {
+            log.debug("Shedding request to {}: {} in flight, limit {}", route.getId(), limit.getInFlight(), limit.getLimit());
+            exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            return exchange.getResponse().setComplete();
+        }
+
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    boolean failed = signal == SignalType.ON_ERROR || isOverloadStatus(status);
+                    limit.release(sampleable(exchange, signal) ? System.nanoTime() - start : -1, failed);
+                });
+    }
+
+    private static boolean isOverloadStatus(HttpStatusCode status) {
+        return status != null && (status.value() == 502 || status.value() == 503 || status.value() == 504);
+    }
+
+    /**
+     * Cancelled requests and event streams (whose duration is the whole stream) say nothing about latency
+     */
+    private static boolean sampleable(ServerWebExchange exchange, SignalType signal) {
+        if (signal == SignalType.CANCEL) {
+            return false;
+        }
+        MediaType contentType = exchange.getResponse().getHeaders().getContentType();
+        return contentType == null || !MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType);
+    }
+
+    @Override
+    public int getOrder() {
+        // After rate limiting and the response cache: only admitted requests that reach
+        // the downstream service count against its limit
+        return 2;
+    }
+}
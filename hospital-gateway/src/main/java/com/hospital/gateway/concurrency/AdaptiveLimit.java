@@ -0,0 +1,107 @@
+package com.hospital.gateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gradient-style adaptive in-flight limit for one downstream route.
+ * A slow moving average of latency is the baseline; when recent latency rises above it the
+ * limit shrinks proportionally, and while latency stays at the baseline it grows by a small
+ * queue allowance (about sqrt(limit)). Downstream errors cut the limit multiplicatively.
+ */
+public class AdaptiveLimit {
+
+    private static final double LONG_WINDOW_WEIGHT = 0.05;
+    private static final double SHORT_WINDOW_WEIGHT = 0.5;
+    private static final double ERROR_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Guarded by this
+    private double estimatedLimit;
+    private double longRttNanos;
+    private double shortRttNanos;
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * @return true if the request may proceed; it must then call {@link #release} exactly once
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and feeds its outcome to the limit
+     * @param rttNanos observed latency, or a negative value if it should not be sampled
+     * @param failed whether the downstream answered with an overload-like failure
+     */
+    public void release(long rttNanos, boolean failed) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        if (failed) {
+            synchronized (this) {
+                update(estimatedLimit * ERROR_BACKOFF);
+            }
+            return;
+        }
+        if (rttNanos < 0) {
+            return;
+        }
+
+        synchronized (this) {
+            if (longRttNanos == 0) {
+                longRttNanos = rttNanos;
+                shortRttNanos = rttNanos;
+                return;
+            }
+            shortRttNanos = shortRttNanos * (1 - SHORT_WINDOW_WEIGHT) + rttNanos * SHORT_WINDOW_WEIGHT;
+            longRttNanos = longRttNanos * (1 - LONG_WINDOW_WEIGHT) + rttNanos * LONG_WINDOW_WEIGHT;
+
+            // Do not grow while the current limit is not even being used
+            if (inFlightAtCompletion < estimatedLimit / 2) {
+                return;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, longRttNanos / shortRttNanos));
+            double queueSize = Math.sqrt(estimatedLimit);
+            update(estimatedLimit * gradient + queueSize);
+
+            // Let the baseline recover after a sustained shift so the limit does not stay depressed
+            if (longRttNanos / shortRttNanos > 2) {
+                longRttNanos *= 0.95;
+            }
+        }
+    }
+
+    private void update(double target) {
+        double smoothed = estimatedLimit * (1 - smoothing) + target * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+        limit = (int) estimatedLimit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
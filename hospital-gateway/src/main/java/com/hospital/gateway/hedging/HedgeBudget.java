@@ -0,0 +1,37 @@
+package com.hospital.gateway.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps hedged attempts at a fraction of the requests: every request earns {@code ratio} of a
+ * credit (up to a small burst) and every hedge spends a whole one
+ */
+class HedgeBudget {
+
+    private static final long UNIT = 1000;
+
+    private final long earnedPerRequest;
+    private final long maxCredits;
+    private final AtomicLong credits = new AtomicLong();
+
+    HedgeBudget(double ratio, int burst) {
+        this.earnedPerRequest = Math.max(1, Math.round(ratio * UNIT));
+        this.maxCredits = Math.max(1, burst) * UNIT;
+    }
+
+    void onRequest() {
+        credits.accumulateAndGet(earnedPerRequest, (current, earned) -> Math.min(maxCredits, current + earned));
+    }
+
+    boolean trySpend() {
+        while (true) {
+            long current = credits.get();
+            if (current < UNIT) {
+                return false;
+            }
+            if (credits.compareAndSet(current, current - UNIT)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.hospital.gateway.hedging;
+
+import com.hospital.gateway.metrics.RequestTimings;
+import com.hospital.gateway.security.ClientAddressHeadersFilter;
+import com.hospital.loadbalancer.InstanceLoadTracker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.filter.headers.RemoveHopByHopHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Opt-in request hedging for idempotent GETs. On a hedged route the gateway proxies the call
+ * itself: if the first instance has not answered within the route's observed p95, a second
+ * attempt goes to a different instance, the first response to arrive is relayed and the other
+ * attempt is cancelled. A budget caps hedges at a small fraction of the route's requests.
+ */
+@Slf4j
+@Component
+public class HedgingFilter implements GlobalFilter, Ordered {
+
+    private static final AntPathMatcher PATH = new AntPathMatcher();
+    private static final RemoveHopByHopHeadersFilter HOP_BY_HOP = new RemoveHopByHopHeadersFilter();
+
+    private final class RouteState {
+        final LatencyWindow latency = new LatencyWindow(windowSize, percentile);
+        final HedgeBudget budget = new HedgeBudget(budgetRatio, budgetBurst);
+    }
+
+    private final LoadBalancerClientFactory clientFactory;
+    private final InstanceLoadTracker tracker;
+    private final ClientAddressHeadersFilter clientAddress;
+    private final WebClient webClient;
+    private final ConcurrentHashMap<String, RouteState> routes = new ConcurrentHashMap<>();
+
+    private final Set<String> hedgedRoutes;
+    private final List<String> hedgedPaths;
+    private final double percentile;
+    private final int windowSize;
+    private final Duration minDelay;
+    private final double budgetRatio;
+    private final int budgetBurst;
+
+    public HedgingFilter(LoadBalancerClientFactory clientFactory,
+                         InstanceLoadTracker tracker,
+                         ClientAddressHeadersFilter clientAddress,
+                         WebClient.Builder webClientBuilder,
+                         @Value("${gateway.hedging.routes:}") String hedgedRoutes,
+                         @Value("${gateway.hedging.paths:/**}") String hedgedPaths,
+                         @Value("${gateway.hedging.percentile:0.95}") double percentile,
+                         @Value("${gateway.hedging.window-size:200}") int windowSize,
+                         @Value("${gateway.hedging.min-delay:PT0.02S}") Duration minDelay,
+                         @Value("${gateway.hedging.budget-ratio:0.05}") double budgetRatio,
+                         @Value("${gateway.hedging.budget-burst:10}") int budgetBurst) {
+        this.clientFactory = clientFactory;
+        this.tracker = tracker;
+        this.clientAddress = clientAddress;
+        this.webClient = webClientBuilder.build();
+        this.hedgedRoutes = split(hedgedRoutes).collect(Collectors.toSet());
+        this.hedgedPaths = split(hedgedPaths).toList();
+        this.percentile = percentile;
+        this.windowSize = Math.max(20, windowSize);
+        this.minDelay = minDelay;
+        this.budgetRatio = budgetRatio;
+        this.budgetBurst = budgetBurst;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null
+                || exchange.getRequest().getMethod() != HttpMethod.GET
+                || !hedgedRoutes.contains(route.getId())
+                || !"lb".equals(route.getUri().getScheme())
+                || hedgedPaths.stream().noneMatch(p -> PATH.match(p, exchange.getRequest().getURI().getPath()))) {
+            return chain.filter(exchange);
+        }
+
+        String serviceId = route.getUri().getHost();
+        RouteState state = routes.computeIfAbsent(route.getId(), id -> new RouteState());
+        state.budget.onRequest();
+
+        return instances(serviceId).flatMap(instances -> {
+            if (instances.size() < 2) {
+                // Nothing to hedge against: regular routing
+                return chain.filter(exchange);
+            }
+            return hedge(exchange, serviceId, instances, state);
+        });
+    }
+
+    private Mono<Void> hedge(ServerWebExchange exchange, String serviceId, List<ServiceInstance> instances, RouteState state) {
+        long start = System.nanoTime();
+
+        return Mono.from(clientFactory.getInstance(serviceId).choose())
+                .map(response -> response.hasServer() ? response.getServer() : instances.get(0))
+                .flatMap(first -> {
+                    // Instance chosen: from here on Server-Timing counts upstream time, as for routed calls
+                    RequestTimings.markUpstreamStart(exchange);
+                    return race(exchange, first, instances, state);
+                })
+                .flatMap(entity -> {
+                    RequestTimings.markUpstreamEnd(exchange);
+                    state.latency.record(System.nanoTime() - start);
+                    ServerWebExchangeUtils.setAlreadyRouted(exchange);
+
+                    ServerHttpResponse response = exchange.getResponse();
+                    response.setStatusCode(entity.getStatusCode());
+                    response.getHeaders().addAll(HOP_BY_HOP.filter(entity.getHeaders(), exchange));
+                    return response.writeWith(entity.getBody() != null ? entity.getBody() : Flux.empty());
+                });
+    }
+
+    /**
+     * First attempt right away; the hedge, to another instance, only once the route's p95 has passed
+     * and if the budget allows it. The first response wins and the other attempt is cancelled.
+     * If no attempt yields a response, the primary's error is relayed rather than the race's own
+     * NoSuchElementException, so error handling sees the real cause (connect refused, timeout...).
+     */
+    private Mono<ResponseEntity<Flux<DataBuffer>>> race(ServerWebExchange exchange, ServiceInstance first,
+                                                        List<ServiceInstance> instances, RouteState state) {
+        AtomicReference<Throwable> primaryError = new AtomicReference<>();
+        Mono<ResponseEntity<Flux<DataBuffer>>> primary = attempt(exchange, first).doOnError(primaryError::set);
+        long p95 = state.latency.percentileNanos();
+        if (p95 < 0) {
+            // Not enough samples for this route yet
+            return primary;
+        }
+
+        Duration delay = Duration.ofNanos(Math.max(p95, minDelay.toNanos()));
+        Mono<ResponseEntity<Flux<DataBuffer>>> backup = Mono.defer(() -> {
+            if (!state.budget.trySpend()) {
+                return Mono.<ResponseEntity<Flux<DataBuffer>>>empty();
+            }
+            List<ServiceInstance> others = instances.stream()
+                    .filter(instance -> !sameInstance(instance, first))
+                    .toList();
+            if (others.isEmpty()) {
+                return Mono.<ResponseEntity<Flux<DataBuffer>>>empty();
+            }
+            ServiceInstance other = others.get(ThreadLocalRandom.current().nextInt(others.size()));
+            log.debug("Hedging GET {} to {}:{} after {} ms", exchange.getRequest().getURI().getPath(),
+                    other.getHost(), other.getPort(), delay.toMillis());
+            return attempt(exchange, other);
+        }).delaySubscription(delay);
+
+        return Mono.firstWithValue(primary, backup)
+                .onErrorMap(NoSuchElementException.class,
+                        e -> primaryError.get() != null ? primaryError.get() : e);
+    }
+
+    private static boolean sameInstance(ServiceInstance a, ServiceInstance b) {
+        return a.getHost().equals(b.getHost()) && a.getPort() == b.getPort();
+    }
+
+    /**
+     * One proxied call, reported to the load-balancer stats like any other lb:// call
+     */
+    private Mono<ResponseEntity<Flux<DataBuffer>>> attempt(ServerWebExchange exchange, ServiceInstance instance) {
+        URI source = exchange.getRequest().getURI();
+        URI target = URI.create("http://" + instance.getHost() + ":" + instance.getPort()
+                + source.getRawPath() + (source.getRawQuery() != null ? "?" + source.getRawQuery() : ""));
+
+        // Proxied outside the routing filter, so the request header filters are applied here
+        HttpHeaders headers = clientAddress.filter(HOP_BY_HOP.filter(exchange.getRequest().getHeaders(), exchange), exchange);
+        Request<Object> lbRequest = new DefaultRequest<>(new RequestDataContext());
+        Response<ServiceInstance> lbResponse = new DefaultResponse(instance);
+
+        return webClient.get()
+                .uri(target)
+                .headers(h -> {
+                    h.addAll(headers);
+                    h.remove(HttpHeaders.HOST);
+                })
+                .retrieve()
+                // Every status is relayed as is, not turned into an error
+                .onStatus(status -> true, clientResponse -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .doOnSubscribe(subscription -> tracker.onStartRequest(lbRequest, lbResponse))
+                .doOnSuccess(entity -> tracker.onComplete(
+                        new CompletionContext<>(CompletionContext.Status.SUCCESS, lbRequest, lbResponse)))
+                .doOnError(error -> tracker.onComplete(
+                        new CompletionContext<>(CompletionContext.Status.FAILED, error, lbRequest, lbResponse)))
+                .doOnCancel(() -> tracker.onComplete(
+                        new CompletionContext<>(CompletionContext.Status.DISCARD, lbRequest, lbResponse)));
+    }
+
+    private Mono<List<ServiceInstance>> instances(String serviceId) {
+        ServiceInstanceListSupplier supplier = clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class)
+                .getIfAvailable();
+        return supplier != null ? supplier.get().next().defaultIfEmpty(List.of()) : Mono.just(List.of());
+    }
+
+    private static java.util.stream.Stream<String> split(String value) {
+        return value == null ? java.util.stream.Stream.empty()
+                : Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty());
+    }
+
+    @Override
+    public int getOrder() {
+        // Just before the load-balancer filter: hedged requests are routed here instead
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+    }
+}
@@ -0,0 +1,43 @@
+package com.hospital.gateway.hedging;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of the last {@code size} responses of a route, with a percentile
+ * recomputed every {@code size / 4} samples so reading it is free on the request path
+ */
+class LatencyWindow {
+
+    private final long[] samples;
+    private final double percentile;
+    private final int recomputeEvery;
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private volatile long percentileNanos = -1;
+
+    LatencyWindow(int size, double percentile) {
+        this.samples = new long[size];
+        this.percentile = percentile;
+        this.recomputeEvery = Math.max(1, size / 4);
+    }
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        if (++sinceRecompute >= recomputeEvery) {
+            sinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            percentileNanos = sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+        }
+    }
+
+    /**
+     * @return the percentile in nanoseconds, or -1 until enough samples were seen
+     */
+    long percentileNanos() {
+        return percentileNanos;
+    }
+}
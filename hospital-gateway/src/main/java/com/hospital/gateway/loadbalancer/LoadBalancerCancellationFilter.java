@@ -0,0 +1,37 @@
+package com.hospital.gateway.loadbalancer;
+
+import com.hospital.loadbalancer.InstanceLoadTracker;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reports cancelled lb:// calls (client gone, route timeout) to the {@link InstanceLoadTracker}.
+ * The load-balancer filter only completes the lifecycle on success or error, so without this
+ * a cancelled call would keep counting as in flight for its instance.
+ */
+@Component
+public class LoadBalancerCancellationFilter implements GlobalFilter, Ordered {
+
+    private final InstanceLoadTracker tracker;
+
+    public LoadBalancerCancellationFilter(InstanceLoadTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return chain.filter(exchange)
+                .doOnCancel(() -> tracker.discard(exchange.getAttributes()));
+    }
+
+    @Override
+    public int getOrder() {
+        // Wraps the timing, hedging and load-balancer filters
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 3;
+    }
+}
@@ -0,0 +1,90 @@
+package com.hospital.gateway.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outermost gateway filter: records {@code gateway.requests} timers with percentile histograms
+ * per route and status class, and adds a Server-Timing header splitting gateway, instance lookup
+ * and upstream time. Timers are resolved once per route, so the request path only does a map
+ * lookup and an array index.
+ */
+@Component
+public class GatewayTimingFilter implements GlobalFilter, Ordered {
+
+    private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx", "unknown"};
+
+    private final MeterRegistry meterRegistry;
+    private final boolean serverTimingHeader;
+    private final ConcurrentHashMap<String, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public GatewayTimingFilter(MeterRegistry meterRegistry,
+                               @Value("${gateway.metrics.server-timing:true}") boolean serverTimingHeader) {
+        this.meterRegistry = meterRegistry;
+        this.serverTimingHeader = serverTimingHeader;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        RequestTimings timings = new RequestTimings(System.nanoTime());
+        exchange.getAttributes().put(RequestTimings.ATTR, timings);
+
+        if (serverTimingHeader) {
+            exchange.getResponse().beforeCommit(() -> {
+                exchange.getResponse().getHeaders().set("Server-Timing", timings.serverTiming(System.nanoTime()));
+                return Mono.empty();
+            });
+        }
+
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+                    String routeId = route != null ? route.getId() : "unrouted";
+                    timerFor(routeId, exchange.getResponse().getStatusCode())
+                            .record(System.nanoTime() - timings.startNanos, TimeUnit.NANOSECONDS);
+                });
+    }
+
+    private Timer timerFor(String routeId, HttpStatusCode status) {
+        Timer[] routeTimers = timers.computeIfAbsent(routeId, this::registerTimers);
+        int statusClass = status != null ? status.value() / 100 - 1 : STATUS_CLASSES.length - 1;
+        if (statusClass < 0 || statusClass >= STATUS_CLASSES.length - 1) {
+            statusClass = STATUS_CLASSES.length - 1;
+        }
+        return routeTimers[statusClass];
+    }
+
+    private Timer[] registerTimers(String routeId) {
+        Timer[] routeTimers = new Timer[STATUS_CLASSES.length];
+        for (int i = 0; i < STATUS_CLASSES.length; i++) {
+            routeTimers[i] = Timer.builder("gateway.requests")
+                    .description("Requests through the gateway, from the first filter to the last body byte")
+                    .tag("route", routeId)
+                    .tag("status", STATUS_CLASSES[i])
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(60))
+                    .register(meterRegistry);
+        }
+        return routeTimers;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,74 @@
+package com.hospital.gateway.metrics;
+
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Timestamps (System.nanoTime) of one request's phases, filled in by the timing filters.
+ * A phase that did not happen keeps 0.
+ */
+public class RequestTimings {
+
+    static final String ATTR = RequestTimings.class.getName();
+
+    final long startNanos;
+    volatile long lbStartNanos;
+    volatile long upstreamStartNanos;
+    volatile long upstreamEndNanos;
+
+    RequestTimings(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Marks the start of the upstream call for filters that proxy the request themselves instead of
+     * going through the routing filter, as the hedging filter does
+     */
+    public static void markUpstreamStart(ServerWebExchange exchange) {
+        RequestTimings timings = exchange.getAttribute(ATTR);
+        if (timings != null) {
+            timings.upstreamStartNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Marks the end of the upstream call, once the response headers have arrived
+     */
+    public static void markUpstreamEnd(ServerWebExchange exchange) {
+        RequestTimings timings = exchange.getAttribute(ATTR);
+        if (timings != null) {
+            timings.upstreamEndNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Server-Timing value splitting the time so far into gateway, instance lookup and upstream
+     */
+    String serverTiming(long nowNanos) {
+        long lb = upstreamStartNanos > 0 && lbStartNanos > 0 ? upstreamStartNanos - lbStartNanos : 0;
+        long upstream = upstreamStartNanos > 0 ? (upstreamEndNanos > 0 ? upstreamEndNanos : nowNanos) - upstreamStartNanos : 0;
+        long gateway = Math.max(0, (nowNanos - startNanos) - lb - upstream);
+
+        StringBuilder value = new StringBuilder(64);
+        append(value, "gw", gateway);
+        // Without an upstream mark the lookup never finished (or nothing marked it): no lb entry then
+        if (lbStartNanos > 0 && upstreamStartNanos > 0) {
+            value.append(", ");
+            append(value, "lb", lb);
+        }
+        if (upstreamStartNanos > 0) {
+            value.append(", ");
+            append(value, "upstream", upstream);
+        }
+        return value.toString();
+    }
+
+    private static void append(StringBuilder value, String name, long nanos) {
+        // Milliseconds with microsecond precision, without String.format on the request path
+        long micros = nanos / 1000;
+        value.append(name).append(";dur=").append(micros / 1000).append('.');
+        long fraction = micros % 1000;
+        if (fraction < 100) value.append('0');
+        if (fraction < 10) value.append('0');
+        value.append(fraction);
+    }
+}
@@ -0,0 +1,33 @@
+package com.hospital.gateway.metrics;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Marks the end of the instance lookup and times the upstream call: the rest of the chain
+ * (the Netty routing filter) completes once the downstream response headers have arrived
+ */
+@Component
+public class UpstreamTimingFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        RequestTimings timings = exchange.getAttribute(RequestTimings.ATTR);
+        if (timings == null) {
+            return chain.filter(exchange);
+        }
+        timings.upstreamStartNanos = System.nanoTime();
+        return chain.filter(exchange)
+                .doOnTerminate(() -> timings.upstreamEndNanos = System.nanoTime());
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+}
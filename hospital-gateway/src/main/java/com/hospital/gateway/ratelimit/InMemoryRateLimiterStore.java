@@ -0,0 +1,96 @@
+package com.hospital.gateway.ratelimit;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token buckets held in memory. Each bucket is an immutable state swapped with CAS;
+ * buckets idle for longer than the idle timeout are evicted, which bounds memory to the
+ * number of recently active users and centers.
+ */
+@Slf4j
+@Component
+public class InMemoryRateLimiterStore implements RateLimiterStore {
+
+    private record BucketState(double tokens, long refilledAtNanos) {
+    }
+
+    private final ConcurrentHashMap<String, AtomicReference<BucketState>> buckets = new ConcurrentHashMap<>();
+    private final long idleTimeoutNanos;
+    private final ScheduledExecutorService evictor;
+
+    public InMemoryRateLimiterStore(@Value("${gateway.rate-limit.idle-timeout:PT10M}") Duration idleTimeout) {
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, idleTimeout.toMillis() / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public long tryConsume(String key, RateLimit limit) {
+        AtomicReference<BucketState> bucket = buckets.computeIfAbsent(key,
+                k -> new AtomicReference<>(new BucketState(limit.capacity(), System.nanoTime())));
+
+        while (true) {
+            BucketState current = bucket.get();
+            long now = System.nanoTime();
+            double elapsedSeconds = Math.max(0, now - current.refilledAtNanos()) / 1_000_000_000.0;
+            double tokens = Math.min(limit.capacity(), current.tokens() + elapsedSeconds * limit.refillPerSecond());
+
+            if (tokens < 1) {
+                // Rejections do not touch the bucket, so they cost no CAS
+                return (long) Math.ceil((1 - tokens) / limit.refillPerSecond() * 1000);
+            }
+            if (bucket.compareAndSet(current, new BucketState(tokens - 1, now))) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public void refund(String key, RateLimit limit) {
+        AtomicReference<BucketState> bucket = buckets.get(key);
+        if (bucket == null) {
+            // Evicted meanwhile: it is recreated full
+            return;
+        }
+        while (true) {
+            BucketState current = bucket.get();
+            BucketState refunded = new BucketState(Math.min(limit.capacity(), current.tokens() + 1), current.refilledAtNanos());
+            if (bucket.compareAndSet(current, refunded)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * A bucket untouched for the idle timeout would be full again anyway, so dropping it loses nothing
+     * as long as the timeout exceeds the time to refill it
+     */
+    private void evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> now - bucket.get().refilledAtNanos() > idleTimeoutNanos);
+        if (before != buckets.size()) {
+            log.debug("Evicted {} idle rate-limit buckets", before - buckets.size());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        evictor.shutdownNow();
+    }
+}
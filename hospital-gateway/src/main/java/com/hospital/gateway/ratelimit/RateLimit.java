@@ -0,0 +1,18 @@
+package com.hospital.gateway.ratelimit;
+
+/**
+ * Token bucket parameters: up to {@code capacity} requests in a burst,
+ * refilled at {@code refillPerSecond} tokens per second
+ */
+public record RateLimit(long capacity, double refillPerSecond) {
+
+    public RateLimit {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Invalid rate limit: capacity=" + capacity + ", refill=" + refillPerSecond);
+        }
+    }
+
+    public RateLimit scaled(int factor) {
+        return new RateLimit(capacity * factor, refillPerSecond * factor);
+    }
+}
@@ -0,0 +1,115 @@
+package com.hospital.gateway.ratelimit;
+
+import com.hospital.gateway.security.JwtValidationFilter;
+import com.hospital.gateway.security.VerifiedTokenCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Admission control per route: every request takes a token from its user's bucket and from its
+ * medical center's bucket (sized {@code center-multiplier} times larger). Unauthenticated requests
+ * are keyed by client address. Over the limit the gateway answers 429 with Retry-After.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private final RateLimiterStore store;
+    private final boolean enabled;
+    private final RateLimit defaultLimit;
+    private final Map<String, RateLimit> routeLimits;
+    private final int centerMultiplier;
+
+    public RateLimitFilter(RateLimiterStore store,
+                           @Value("${gateway.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${gateway.rate-limit.capacity:50}") long capacity,
+                           @Value("${gateway.rate-limit.refill-per-second:25}") double refillPerSecond,
+                           @Value("${gateway.rate-limit.route-limits:}") String routeLimits,
+                           @Value("${gateway.rate-limit.center-multiplier:4}") int centerMultiplier) {
+        this.store = store;
+        this.enabled = enabled;
+        this.defaultLimit = new RateLimit(capacity, refillPerSecond);
+        this.routeLimits = parseRouteLimits(routeLimits);
+        this.centerMultiplier = Math.max(1, centerMultiplier);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled || exchange.getRequest().getMethod() == HttpMethod.OPTIONS) {
+            return chain.filter(exchange);
+        }
+
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "unrouted";
+        RateLimit limit = routeLimits.getOrDefault(routeId, defaultLimit);
+
+        VerifiedTokenCache.VerifiedToken identity = exchange.getAttribute(JwtValidationFilter.VERIFIED_TOKEN_ATTR);
+        long waitMillis;
+        if (identity != null && !identity.userId().isEmpty()) {
+            String userKey = routeId + ":user:" + identity.userId();
+            waitMillis = store.tryConsume(userKey, limit);
+            if (waitMillis == 0 && !identity.centerId().isEmpty()) {
+                waitMillis = store.tryConsume(routeId + ":center:" + identity.centerId(), limit.scaled(centerMultiplier));
+                if (waitMillis > 0) {
+                    // Rejected by the center: the request must not use up the user's own quota
+                    store.refund(userKey, limit);
+                }
+            }
+        } else {
+            waitMillis = store.tryConsume(routeId + ":ip:" + clientAddress(exchange), limit);
+        }
+
+        if (waitMillis == 0) {
+            return chain.filter(exchange);
+        }
+
+        log.debug("Rate limit exceeded on route {}; retry in {} ms", routeId, waitMillis);
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (waitMillis + 999) / 1000)));
+        return exchange.getResponse().setComplete();
+    }
+
+    private static String clientAddress(ServerWebExchange exchange) {
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        return remote != null && remote.getAddress() != null ? remote.getAddress().getHostAddress() : "unknown";
+    }
+
+    /**
+     * Parses per-route overrides such as "report-service=20/5,auth-service=10/1" (capacity/refill per second)
+     */
+    private static Map<String, RateLimit> parseRouteLimits(String value) {
+        Map<String, RateLimit> limits = new HashMap<>();
+        if (value == null || value.isBlank()) {
+            return limits;
+        }
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("[=/]");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid route rate limit: " + entry);
+            }
+            limits.put(parts[0].trim(), new RateLimit(Long.parseLong(parts[1].trim()), Double.parseDouble(parts[2].trim())));
+        }
+        return limits;
+    }
+
+    @Override
+    public int getOrder() {
+        // Right after JwtValidationFilter, so the verified identity is available
+        return 0;
+    }
+}
@@ -0,0 +1,24 @@
+package com.hospital.gateway.ratelimit;
+
+/**
+ * Storage of token buckets. The in-memory implementation is local to each gateway instance;
+ * a shared store (e.g. Redis) can implement the same contract to enforce limits cluster-wide.
+ */
+public interface RateLimiterStore {
+
+    /**
+     * Takes one token from the bucket identified by the key, creating it full if needed
+     * @param key bucket identity (route plus user or center)
+     * @param limit capacity and refill rate of the bucket
+     * @return 0 if the request is admitted, otherwise the milliseconds until a token is available
+     */
+    long tryConsume(String key, RateLimit limit);
+
+    /**
+     * Returns a token taken by {@link #tryConsume} for a request that was rejected afterwards
+     * by another bucket, never exceeding the bucket capacity
+     * @param key bucket identity used in the matching tryConsume
+     * @param limit capacity and refill rate of the bucket
+     */
+    void refund(String key, RateLimit limit);
+}
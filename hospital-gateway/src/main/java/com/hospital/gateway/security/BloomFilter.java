@@ -0,0 +1,61 @@
+package com.hospital.gateway.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings: no false negatives, about 1% false positives
+ * up to the expected number of entries. Bits are only ever set, so lookups need no lock.
+ */
+final class BloomFilter {
+
+    private static final int HASHES = 7;
+
+    private final AtomicLongArray bits;
+    private final int bitCount;
+
+    BloomFilter(int expectedEntries) {
+        // ~9.6 bits per entry for a 1% false-positive rate with 7 hash functions
+        long size = Math.max(64L, (long) Math.ceil(Math.max(1, expectedEntries) * 9.6));
+        this.bitCount = (int) Math.min(size, Integer.MAX_VALUE - 63L);
+        this.bits = new AtomicLongArray((bitCount + 63) / 64);
+    }
+
+    void add(String value) {
+        int h1 = value.hashCode();
+        int h2 = mix(h1);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(String value) {
+        int h1 = value.hashCode();
+        int h2 = mix(h1);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Second, independent-enough hash for double hashing (murmur3 finalizer)
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h | 1;
+    }
+}
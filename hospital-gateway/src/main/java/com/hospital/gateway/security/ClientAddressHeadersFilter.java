@@ -0,0 +1,49 @@
+package com.hospital.gateway.security;
+
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetSocketAddress;
+
+/**
+ * The gateway is the edge, so the peer of its socket is the client. Downstream services resolve the
+ * client IP from X-Forwarded-For (forward-headers-strategy: framework), and the login throttle keys on
+ * it: a value sent by the client would let it pick its own key. The header is replaced with the
+ * address the gateway saw, and a client-supplied Forwarded header is dropped since it takes precedence.
+ */
+@Component
+public class ClientAddressHeadersFilter implements HttpHeadersFilter, Ordered {
+
+    private static final String FORWARDED = "Forwarded";
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    @Override
+    public HttpHeaders filter(HttpHeaders input, ServerWebExchange exchange) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(input);
+        headers.remove(FORWARDED);
+        headers.remove(X_FORWARDED_FOR);
+
+        String client = clientAddress(exchange.getRequest().getRemoteAddress());
+        if (client != null) {
+            headers.set(X_FORWARDED_FOR, client);
+        }
+        return headers;
+    }
+
+    private static String clientAddress(InetSocketAddress remote) {
+        if (remote == null) {
+            return null;
+        }
+        return remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString();
+    }
+
+    @Override
+    public int getOrder() {
+        // Last word on these headers, after the gateway's own header filters
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
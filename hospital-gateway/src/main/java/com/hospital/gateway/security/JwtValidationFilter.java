@@ -1,6 +1,7 @@
 package com.hospital.gateway.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -24,8 +25,11 @@ import java.util.List;
 @Component
 public class JwtValidationFilter implements GlobalFilter, Ordered {
 
-    @Value("${SECRET_KEY}")
-    private String secretKey;
+    /**
+     * Exchange attribute holding the {@link VerifiedTokenCache.VerifiedToken} of an authenticated request,
+     * for filters that run later (the X-* headers alone can be forged on public routes)
+     */
+    public static final String VERIFIED_TOKEN_ATTR = JwtValidationFilter.class.getName() + ".verifiedToken";
 
     private static final AntPathMatcher PATH = new AntPathMatcher();
 
@@ -33,9 +37,23 @@ public class JwtValidationFilter implements GlobalFilter, Ordered {
             "/swagger-ui.html", "/swagger-ui/**",
             "/v3/api-docs", "/v3/api-docs/**", "/v3/api-docs/swagger-config",
             "/**/v3/api-docs", "/**/v3/api-docs/**",
-            "/auth/login", "/auth/request-reset", "/auth/reset-password"
+            "/auth/login", "/auth/refresh", "/auth/request-reset", "/auth/reset-password"
     );
 
+    // Immutable and thread-safe: the key and parser are built once instead of on every request
+    private final JwtParser parser;
+    private final VerifiedTokenCache tokenCache;
+    private final RevocationList revocationList;
+
+    public JwtValidationFilter(@Value("${SECRET_KEY}") String secretKey, VerifiedTokenCache tokenCache,
+                               RevocationList revocationList) {
+        this.parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        this.tokenCache = tokenCache;
+        this.revocationList = revocationList;
+    }
+
     private boolean isPublic(String path) {
         return PUBLIC_PATTERNS.stream().anyMatch(p -> PATH.match(p, path));
     }
@@ -53,38 +71,71 @@ public class JwtValidationFilter implements GlobalFilter, Ordered {
             return chain.filter(exchange);
         }
 
-        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        VerifiedTokenCache.VerifiedToken verified = authenticate(request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        if (verified == null) {
             exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
             return exchange.getResponse().setComplete();
         }
 
-        String token = authHeader.substring(7);
+        ServerHttpRequest modifiedRequest = request.mutate()
+                .header("X-User-Id", verified.userId())
+                .header("X-Roles", verified.roles())
+                .header("X-Center-Id", verified.centerId())
+                .build();
 
-        try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8)))
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-
-            List<String> roles = claims.get("roles", List.class);
-            String userId = claims.get("userId", String.class);
-            String centerId = claims.get("centerId", String.class);
+        ServerWebExchange verifiedExchange = exchange.mutate().request(modifiedRequest).build();
+        verifiedExchange.getAttributes().put(VERIFIED_TOKEN_ATTR, verified);
+        return chain.filter(verifiedExchange);
+    }
 
-            String rolesHeader = roles != null ? String.join(",", roles) : "";
+    /**
+     * Authenticates a Bearer Authorization header and rejects revoked tokens; also used by the gateway's own endpoints,
+     * which are not routed through the filter chain
+     * @return the verified identity, or null if the header is missing or the token is invalid
+     */
+    public VerifiedTokenCache.VerifiedToken authenticate(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        String token = authHeader.substring(7);
 
-            ServerHttpRequest modifiedRequest = request.mutate()
-                    .header("X-User-Id", userId != null ? userId : "")
-                    .header("X-Roles", rolesHeader)
-                    .header("X-Center-Id", centerId != null ? centerId : "")
-                    .build();
+        VerifiedTokenCache.VerifiedToken verified = tokenCache.get(token);
+        if (verified == null) {
+            try {
+                verified = verify(token);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+        // Checked on cache hits too: a token can be revoked after it was first verified
+        return revocationList.isRevoked(verified) ? null : verified;
+    }
 
-            return chain.filter(exchange.mutate().request(modifiedRequest).build());
-        } catch (Exception e) {
-            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-            return exchange.getResponse().setComplete();
+    /**
+     * Verifies the signature, extracts the identity headers and caches them until the token expires
+     */
+    private VerifiedTokenCache.VerifiedToken verify(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+
+        List<String> roles = claims.get("roles", List.class);
+        String userId = claims.get("userId", String.class);
+        String centerId = claims.get("centerId", String.class);
+
+        String rolesHeader = roles != null ? String.join(",", roles) : "";
+
+        VerifiedTokenCache.VerifiedToken verified = new VerifiedTokenCache.VerifiedToken(
+                userId != null ? userId : "",
+                rolesHeader,
+                centerId != null ? centerId : "",
+                claims.getId() != null ? claims.getId() : "",
+                claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L,
+                claims.getExpiration() != null ? claims.getExpiration().getTime() : 0L);
+
+        // Tokens without exp are verified every time
+        if (claims.getExpiration() != null) {
+            tokenCache.put(token, verified);
         }
+        return verified;
     }
 
     @Override
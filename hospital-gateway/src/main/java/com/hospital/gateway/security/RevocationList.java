@@ -0,0 +1,85 @@
+package com.hospital.gateway.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local replica of the access-token revocations recorded by auth-service, filled by
+ * {@link RevocationReplicator}. Revoked jtis sit behind a Bloom filter, so the common case
+ * (a token that was never revoked) is answered without touching the map. Entries are
+ * evicted once the tokens they cover have expired.
+ */
+@Component
+public class RevocationList {
+
+    /**
+     * One revocation as served by auth-service: a single jti, or every token of userId issued before revokedAt
+     */
+    public record Revocation(Long id, String jti, Long userId, long revokedAt, long expiresAt) {
+    }
+
+    private final ConcurrentHashMap<String, Long> revokedJtis = new ConcurrentHashMap<>();
+    // userId -> [revokedAt, expiresAt]
+    private final ConcurrentHashMap<String, long[]> userCutoffs = new ConcurrentHashMap<>();
+    private final int bloomCapacity;
+    private volatile BloomFilter bloom;
+
+    public RevocationList(@Value("${gateway.revocation.bloom-capacity:100000}") int bloomCapacity) {
+        this.bloomCapacity = Math.max(1, bloomCapacity);
+        this.bloom = new BloomFilter(this.bloomCapacity);
+    }
+
+    public boolean isRevoked(VerifiedTokenCache.VerifiedToken token) {
+        if (!userCutoffs.isEmpty()) {
+            long[] cutoff = userCutoffs.get(token.userId());
+            // iat has second precision: tokens issued in an earlier second than the revocation are covered
+            if (cutoff != null && token.issuedAtMillis() < cutoff[0] - cutoff[0] % 1000) {
+                return true;
+            }
+        }
+        String jti = token.jti();
+        if (jti.isEmpty() || !bloom.mightContain(jti)) {
+            return false;
+        }
+        return revokedJtis.containsKey(jti);
+    }
+
+    void addAll(List<Revocation> revocations) {
+        long now = System.currentTimeMillis();
+        for (Revocation revocation : revocations) {
+            if (revocation.expiresAt() <= now) {
+                continue;
+            }
+            if (revocation.jti() != null) {
+                // Map first: a Bloom hit must always find its entry
+                revokedJtis.put(revocation.jti(), revocation.expiresAt());
+                bloom.add(revocation.jti());
+            } else if (revocation.userId() != null) {
+                userCutoffs.merge(String.valueOf(revocation.userId()),
+                        new long[]{revocation.revokedAt(), revocation.expiresAt()},
+                        (current, next) -> next[0] >= current[0] ? next : current);
+            }
+        }
+    }
+
+    /**
+     * Drops expired revocations and rebuilds the Bloom filter from the remaining jtis,
+     * since a Bloom filter cannot forget entries. Runs on the replicator thread, like {@link #addAll}.
+     */
+    void evictExpired() {
+        long now = System.currentTimeMillis();
+        int before = revokedJtis.size();
+        revokedJtis.values().removeIf(expiresAt -> expiresAt <= now);
+        userCutoffs.values().removeIf(cutoff -> cutoff[1] <= now);
+        if (revokedJtis.size() == before) {
+            return;
+        }
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(bloomCapacity, revokedJtis.size() * 2));
+        revokedJtis.keySet().forEach(rebuilt::add);
+        bloom = rebuilt;
+    }
+}
@@ -0,0 +1,101 @@
+package com.hospital.gateway.security;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pulls new revocations from auth-service in the background, so checking a token never adds
+ * a remote call to the request path. Every poll re-reads the revocations recorded since the last
+ * one seen minus an overlap, paged by id, so an entry whose transaction committed after a higher id
+ * was already read is still picked up; re-reads are idempotent. Until the first successful pull,
+ * tokens are only checked against what is already replicated.
+ */
+@Slf4j
+@Component
+public class RevocationReplicator {
+
+    private static final ParameterizedTypeReference<List<RevocationList.Revocation>> PAGE = new ParameterizedTypeReference<>() {
+    };
+    private static final int PAGE_SIZE = 1000;
+
+    private final RevocationList revocationList;
+    private final WebClient webClient;
+    private final Duration timeout;
+    private final long overlapMillis;
+    private final ScheduledExecutorService poller;
+    // Latest revokedAt replicated (epoch ms); only the poller thread touches it
+    private long watermark;
+
+    public RevocationReplicator(RevocationList revocationList,
+                                WebClient.Builder webClientBuilder,
+                                ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+                                @Value("${gateway.revocation.uri:lb://auth-service}") String authServiceUri,
+                                @Value("${gateway.revocation.poll-interval:PT5S}") Duration pollInterval,
+                                @Value("${gateway.revocation.timeout:PT2S}") Duration timeout,
+                                @Value("${gateway.revocation.overlap:PT30S}") Duration overlap) {
+        this.revocationList = revocationList;
+        this.webClient = webClientBuilder.clone()
+                .baseUrl(authServiceUri.replaceFirst("^lb://", "http://"))
+                .filter(loadBalancer)
+                .build();
+        this.timeout = timeout;
+        this.overlapMillis = overlap.toMillis();
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "revocation-replicator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, pollInterval.toMillis());
+        poller.scheduleWithFixedDelay(this::poll, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    private void poll() {
+        // The overlap covers transactions still open when a later revocation was read, and clock skew
+        // between auth-service instances
+        long since = watermark > 0 ? Math.max(0, watermark - overlapMillis) : 0;
+        try {
+            List<RevocationList.Revocation> page;
+            long after = 0;
+            do {
+                long cursor = after;
+                page = webClient.get()
+                        .uri(uri -> uri.path("/auth/revocations")
+                                .queryParam("since", since)
+                                .queryParam("after", cursor)
+                                .build())
+                        // Internal call: same role headers the gateway forwards on verified requests
+                        .header("X-Roles", "ADMIN")
+                        .retrieve()
+                        .bodyToMono(PAGE)
+                        .block(timeout);
+                if (page == null || page.isEmpty()) {
+                    break;
+                }
+                revocationList.addAll(page);
+                after = page.get(page.size() - 1).id();
+                for (RevocationList.Revocation revocation : page) {
+                    watermark = Math.max(watermark, revocation.revokedAt());
+                }
+            } while (page.size() >= PAGE_SIZE);
+            revocationList.evictExpired();
+        } catch (Exception e) {
+            log.warn("Could not replicate token revocations (since {}): {}", since, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        poller.shutdownNow();
+    }
+}
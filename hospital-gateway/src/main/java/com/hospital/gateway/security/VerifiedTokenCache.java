@@ -0,0 +1,81 @@
+package com.hospital.gateway.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of already verified tokens, keyed by the SHA-256 of the token so raw
+ * bearer tokens are never kept in memory. Each entry expires at the token's own exp.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    /**
+     * Identity headers extracted from a verified token
+     */
+    public record VerifiedToken(String userId, String roles, String centerId, String jti,
+                                long issuedAtMillis, long expiresAtMillis) {
+    }
+
+    private final ConcurrentHashMap<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public VerifiedTokenCache(@Value("${gateway.jwt.cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * @return the cached identity, or null if the token was not verified before or has expired
+     */
+    public VerifiedToken get(String token) {
+        String key = hash(token);
+        VerifiedToken cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        entries.put(hash(token), verified);
+    }
+
+    /**
+     * Drops expired entries first; if the cache is still full, drops arbitrary entries
+     * down to 90% of the capacity (they are simply verified again on their next use)
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.hospital.gateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of bearer-token authentication in {@link JwtValidationFilter}:
+ * <ul>
+ *     <li>{@code parserPerRequest}: key and parser rebuilt on every request (the filter before the parser was shared)</li>
+ *     <li>{@code sharedParserUncached}: shared parser, signature verified on every request (cache miss)</li>
+ *     <li>{@code filterCached}: {@link JwtValidationFilter#authenticate} with the token already in {@link VerifiedTokenCache}</li>
+ * </ul>
+ * Run from the repository root with:
+ * <pre>
+ * mvn -pl hospital-gateway test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath org.openjdk.jmh.Main JwtVerificationBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-with-at-least-256-bits-of-entropy!!";
+
+    private String token;
+    private String authHeader;
+    private io.jsonwebtoken.JwtParser sharedParser;
+    private JwtValidationFilter filter;
+
+    @Setup
+    public void setUp() {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        token = Jwts.builder()
+                .subject("1712345678")
+                .id(UUID.randomUUID().toString())
+                .claim("userId", "42")
+                .claim("centerId", "3")
+                .claim("roles", List.of("ROLE_ADMIN"))
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(key)
+                .compact();
+        authHeader = "Bearer " + token;
+
+        sharedParser = Jwts.parser().verifyWith(key).build();
+        filter = new JwtValidationFilter(SECRET, new VerifiedTokenCache(10_000), new RevocationList(100_000));
+        if (filter.authenticate(authHeader) == null) {
+            throw new IllegalStateException("Benchmark token was rejected");
+        }
+    }
+
+    @Benchmark
+    public Claims parserPerRequest() {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public Claims sharedParserUncached() {
+        return sharedParser.parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public VerifiedTokenCache.VerifiedToken filterCached() {
+        return filter.authenticate(authHeader);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
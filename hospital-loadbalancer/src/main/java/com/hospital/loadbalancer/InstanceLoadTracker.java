@@ -0,0 +1,176 @@
+package com.hospital.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks in-flight requests and an exponentially weighted moving average of latency per
+ * service instance. Registered as a load-balancer lifecycle, so every load-balanced call
+ * (gateway routes and Feign clients alike) reports its start and completion here.
+ * Registered by {@link LeastOutstandingRequestsAutoConfiguration}.
+ */
+public class InstanceLoadTracker implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    // Time constant of the latency average: older samples lose weight with exp(-elapsed / tau)
+    private static final double DECAY_NANOS = 10_000_000_000.0;
+    // Failed calls count as this many times the current average, steering traffic away from the instance
+    private static final double FAILURE_PENALTY = 4.0;
+    // Far beyond any route or Feign timeout: a call still open after this was never reported as finished
+    private static final long STALE_AFTER_NANOS = 300_000_000_000L;
+    private static final long SWEEP_INTERVAL_NANOS = 30_000_000_000L;
+
+    /**
+     * Request attribute holding the in-flight call, used by {@link #discard(Map)}
+     */
+    public static final String IN_FLIGHT_ATTR = InstanceLoadTracker.class.getName() + ".inFlight";
+
+    static final class InstanceLoad {
+        final AtomicInteger inFlight = new AtomicInteger();
+        private double ewmaNanos;
+        private long updatedAtNanos;
+
+        synchronized void record(long latencyNanos, long now) {
+            if (ewmaNanos == 0) {
+                ewmaNanos = latencyNanos;
+            } else {
+                double weight = Math.exp(-(now - updatedAtNanos) / DECAY_NANOS);
+                ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+            }
+            updatedAtNanos = now;
+        }
+
+        synchronized double ewmaNanos() {
+            return ewmaNanos;
+        }
+    }
+
+    /**
+     * Identity key: two distinct requests with equal content must not share a start time
+     */
+    private record RequestKey(Object request) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof RequestKey other && other.request == request;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(request);
+        }
+    }
+
+    /**
+     * A call counted in its instance's in-flight total until it completes, is discarded or goes stale
+     */
+    private record InFlightCall(RequestKey key, InstanceLoad load, long startNanos) {
+    }
+
+    private final ConcurrentHashMap<String, InstanceLoad> instances = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<RequestKey, InFlightCall> inFlightCalls = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private final AtomicLong lastSweepNanos;
+
+    public InstanceLoadTracker() {
+        this(System::nanoTime);
+    }
+
+    InstanceLoadTracker(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.lastSweepNanos = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    InstanceLoad load(ServiceInstance instance) {
+        return instances.computeIfAbsent(key(instance), k -> new InstanceLoad());
+    }
+
+    int trackedCalls() {
+        return inFlightCalls.size();
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+        // The instance is not known yet; counting starts in onStartRequest
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        evictStale(now);
+
+        InFlightCall call = new InFlightCall(new RequestKey(request), load(lbResponse.getServer()), now);
+        call.load().inFlight.incrementAndGet();
+        inFlightCalls.put(call.key(), call);
+
+        // On gateway routes these are the exchange attributes, where a cancelled exchange can find the call
+        if (request.getContext() instanceof RequestDataContext context
+                && context.getClientRequest() != null
+                && context.getClientRequest().getAttributes() != null) {
+            context.getClientRequest().getAttributes().put(IN_FLIGHT_ATTR, call);
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        InFlightCall call = inFlightCalls.remove(new RequestKey(completionContext.getLoadBalancerRequest()));
+        if (call == null) {
+            return;
+        }
+
+        InstanceLoad load = call.load();
+        load.inFlight.decrementAndGet();
+
+        long now = nanoClock.getAsLong();
+        long latency = now - call.startNanos();
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            latency = (long) Math.max(latency, load.ewmaNanos() * FAILURE_PENALTY);
+        }
+        if (completionContext.status() != CompletionContext.Status.DISCARD) {
+            load.record(latency, now);
+        }
+    }
+
+    /**
+     * Reports as discarded the call started for these request attributes, if it is still in flight.
+     * For callers whose load-balancer client never reports cancellations: the gateway's
+     * load-balancer filter only completes the lifecycle on success or error.
+     * @param attributes the attributes of the load-balanced request (the exchange attributes on the gateway)
+     */
+    public void discard(Map<String, Object> attributes) {
+        if (attributes.remove(IN_FLIGHT_ATTR) instanceof InFlightCall call && inFlightCalls.remove(call.key(), call)) {
+            call.load().inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Last resort for calls whose completion was never reported: past STALE_AFTER_NANOS they stop
+     * counting as in flight. Runs at most once per SWEEP_INTERVAL_NANOS, on the calling thread.
+     */
+    private void evictStale(long now) {
+        long last = lastSweepNanos.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || !lastSweepNanos.compareAndSet(last, now)) {
+            return;
+        }
+        for (InFlightCall call : inFlightCalls.values()) {
+            if (now - call.startNanos() > STALE_AFTER_NANOS && inFlightCalls.remove(call.key(), call)) {
+                call.load().inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getServiceId() + "@" + instance.getHost() + ":" + instance.getPort();
+    }
+}
@@ -0,0 +1,21 @@
+package com.hospital.loadbalancer;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Replaces round-robin with {@link LeastOutstandingRequestsLoadBalancer} for every load-balanced service
+ * of the application that has this module on its classpath (gateway lb:// routes and Feign clients)
+ */
+@AutoConfiguration
+@LoadBalancerClients(defaultConfiguration = LeastOutstandingRequestsConfig.class)
+public class LeastOutstandingRequestsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public InstanceLoadTracker instanceLoadTracker() {
+        return new InstanceLoadTracker();
+    }
+}
@@ -0,0 +1,25 @@
+package com.hospital.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Load-balancer configuration applied inside each service's load-balancer context.
+ * Deliberately not annotated with @Configuration so the application context does not pick it up.
+ */
+public class LeastOutstandingRequestsConfig {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> leastOutstandingRequestsLoadBalancer(
+            Environment environment,
+            LoadBalancerClientFactory clientFactory,
+            InstanceLoadTracker tracker) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LeastOutstandingRequestsLoadBalancer(
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), tracker);
+    }
+}
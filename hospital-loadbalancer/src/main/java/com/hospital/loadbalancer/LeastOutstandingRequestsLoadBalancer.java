@@ -0,0 +1,79 @@
+package com.hospital.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power-of-two-choices over least outstanding requests: two random instances are sampled and
+ * the one with the lower cost wins, where cost = (in-flight + 1) x EWMA latency. A replica busy
+ * with a long call, or slow lately, is avoided without every caller herding onto the same one.
+ */
+public class LeastOutstandingRequestsLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final InstanceLoadTracker tracker;
+
+    public LeastOutstandingRequestsLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+                                                InstanceLoadTracker tracker) {
+        this.supplierProvider = supplierProvider;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::choose);
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        double prior = averageLatency(instances);
+        return new DefaultResponse(cost(a, prior) <= cost(b, prior) ? a : b);
+    }
+
+    private double cost(ServiceInstance instance, double prior) {
+        InstanceLoadTracker.InstanceLoad load = tracker.load(instance);
+        double latency = load.ewmaNanos();
+        // Instances without samples yet are assumed to be as fast as the average
+        return (load.inFlight.get() + 1) * (latency > 0 ? latency : prior);
+    }
+
+    private double averageLatency(List<ServiceInstance> instances) {
+        double sum = 0;
+        int known = 0;
+        for (ServiceInstance instance : instances) {
+            double latency = tracker.load(instance).ewmaNanos();
+            if (latency > 0) {
+                sum += latency;
+                known++;
+            }
+        }
+        return known > 0 ? sum / known : 1;
+    }
+}
@@ -0,0 +1,84 @@
+package com.hospital.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.LinkedMultiValueMap;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstanceLoadTrackerTest {
+
+    private final long[] clock = {0};
+    private final InstanceLoadTracker tracker = new InstanceLoadTracker(() -> clock[0]);
+    private final ServiceInstance instance =
+            new DefaultServiceInstance("admin-1", "admin-service", "admin-1.internal", 8080, false);
+    private final Response<ServiceInstance> lbResponse = new DefaultResponse(instance);
+
+    @Test
+    void discardReleasesCancelledCall() {
+        Map<String, Object> attributes = new HashMap<>();
+        Request<Object> request = request(attributes);
+
+        tracker.onStartRequest(request, lbResponse);
+        assertThat(tracker.load(instance).inFlight.get()).isEqualTo(1);
+        assertThat(attributes).containsKey(InstanceLoadTracker.IN_FLIGHT_ATTR);
+
+        tracker.discard(attributes);
+        assertThat(tracker.load(instance).inFlight.get()).isZero();
+        assertThat(tracker.trackedCalls()).isZero();
+
+        // A late completion of the same call must not count it twice
+        tracker.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request, lbResponse));
+        assertThat(tracker.load(instance).inFlight.get()).isZero();
+        assertThat(tracker.load(instance).ewmaNanos()).isZero();
+    }
+
+    @Test
+    void discardAfterCompletionIsNoop() {
+        Map<String, Object> attributes = new HashMap<>();
+        Request<Object> request = request(attributes);
+
+        tracker.onStartRequest(request, lbResponse);
+        clock[0] += Duration.ofMillis(20).toNanos();
+        tracker.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request, lbResponse));
+        tracker.discard(attributes);
+
+        assertThat(tracker.load(instance).inFlight.get()).isZero();
+        assertThat(tracker.load(instance).ewmaNanos()).isEqualTo(Duration.ofMillis(20).toNanos());
+    }
+
+    @Test
+    void evictsCallsNeverReportedAsFinished() {
+        tracker.onStartRequest(new DefaultRequest<>(), lbResponse);
+        tracker.onStartRequest(new DefaultRequest<>(), lbResponse);
+        assertThat(tracker.load(instance).inFlight.get()).isEqualTo(2);
+
+        clock[0] += Duration.ofMinutes(6).toNanos();
+        // The sweep runs on the next start, which stays in flight
+        tracker.onStartRequest(new DefaultRequest<>(), lbResponse);
+
+        assertThat(tracker.load(instance).inFlight.get()).isEqualTo(1);
+        assertThat(tracker.trackedCalls()).isEqualTo(1);
+    }
+
+    private static Request<Object> request(Map<String, Object> attributes) {
+        RequestData data = new RequestData(HttpMethod.GET, URI.create("http://admin-service/admin/centers"),
+                new HttpHeaders(), new LinkedMultiValueMap<>(), attributes);
+        return new DefaultRequest<>(new RequestDataContext(data));
+    }
+}
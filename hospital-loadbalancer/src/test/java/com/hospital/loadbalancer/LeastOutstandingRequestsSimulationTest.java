@@ -0,0 +1,124 @@
+package com.hospital.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Discrete-event simulation of one caller in front of several replicas of a service, one of them
+ * much slower than the rest. Time is virtual: each replica serves its requests one at a time in
+ * arrival order, and a fixed set of clients sends a new request as soon as the previous one returns.
+ */
+class LeastOutstandingRequestsSimulationTest {
+
+    private static final String SERVICE_ID = "report-service";
+    private static final long FAST_NANOS = 2_000_000;
+    private static final long SLOW_NANOS = FAST_NANOS * 12;
+    private static final int CLIENTS = 16;
+    private static final int REQUESTS = 4_000;
+
+    private record Completion(long at, long startedAt, Request<Object> request, Response<ServiceInstance> response)
+            implements Comparable<Completion> {
+        @Override
+        public int compareTo(Completion other) {
+            return Long.compare(at, other.at);
+        }
+    }
+
+    private record Outcome(double meanLatencyNanos, double slowShare) {
+    }
+
+    private final List<ServiceInstance> instances = List.of(
+            instance("fast-1"), instance("fast-2"), instance("fast-3"), instance("slow"));
+
+    @Test
+    void steersTrafficAwayFromSlowReplica() {
+        Outcome roundRobin = simulate(tracker -> new RoundRobinLoadBalancer(supplierProvider(), SERVICE_ID));
+        Outcome leastOutstanding = simulate(tracker -> new LeastOutstandingRequestsLoadBalancer(supplierProvider(), tracker));
+
+        // Round-robin keeps sending a quarter of the traffic to the slow replica, where requests queue up
+        assertThat(roundRobin.slowShare()).isBetween(0.23, 0.27);
+        assertThat(leastOutstanding.slowShare()).isLessThan(0.15);
+        assertThat(leastOutstanding.meanLatencyNanos()).isLessThan(roundRobin.meanLatencyNanos() / 2);
+    }
+
+    private Outcome simulate(Function<InstanceLoadTracker, ReactorServiceInstanceLoadBalancer> balancerFactory) {
+        long[] clock = {0};
+        InstanceLoadTracker tracker = new InstanceLoadTracker(() -> clock[0]);
+        ReactorServiceInstanceLoadBalancer balancer = balancerFactory.apply(tracker);
+
+        Map<String, Long> busyUntil = new HashMap<>();
+        PriorityQueue<Completion> events = new PriorityQueue<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            events.add(send(balancer, tracker, busyUntil, clock[0]));
+        }
+
+        long totalLatency = 0;
+        int slow = 0;
+        for (int completed = 0; completed < REQUESTS; completed++) {
+            Completion completion = events.poll();
+            clock[0] = completion.at();
+            tracker.onComplete(new CompletionContext<>(
+                    CompletionContext.Status.SUCCESS, completion.request(), completion.response()));
+
+            totalLatency += completion.at() - completion.startedAt();
+            if ("slow".equals(completion.response().getServer().getInstanceId())) {
+                slow++;
+            }
+            events.add(send(balancer, tracker, busyUntil, clock[0]));
+        }
+        return new Outcome((double) totalLatency / REQUESTS, (double) slow / REQUESTS);
+    }
+
+    private Completion send(ReactorServiceInstanceLoadBalancer balancer, InstanceLoadTracker tracker,
+                            Map<String, Long> busyUntil, long now) {
+        Request<Object> request = new DefaultRequest<>();
+        @SuppressWarnings("unchecked")
+        Response<ServiceInstance> response = (Response<ServiceInstance>) balancer.choose(request).block();
+        tracker.onStartRequest(request, response);
+
+        ServiceInstance server = response.getServer();
+        long service = "slow".equals(server.getInstanceId()) ? SLOW_NANOS : FAST_NANOS;
+        long done = Math.max(now, busyUntil.getOrDefault(server.getInstanceId(), 0L)) + service;
+        busyUntil.put(server.getInstanceId(), done);
+        return new Completion(done, now, request, response);
+    }
+
+    private ObjectProvider<ServiceInstanceListSupplier> supplierProvider() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("supplier", new ServiceInstanceListSupplier() {
+            @Override
+            public String getServiceId() {
+                return SERVICE_ID;
+            }
+
+            @Override
+            public Flux<List<ServiceInstance>> get() {
+                return Flux.just(instances);
+            }
+        });
+        return beanFactory.getBeanProvider(ServiceInstanceListSupplier.class);
+    }
+
+    private static ServiceInstance instance(String id) {
+        return new DefaultServiceInstance(id, SERVICE_ID, id + ".internal", 8080, false);
+    }
+}
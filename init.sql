@@ -71,6 +71,10 @@ CREATE TABLE users (
 CREATE UNIQUE INDEX uq_users_dni_per_center   ON users (center_id, dni);
 CREATE UNIQUE INDEX uq_users_email_per_center ON users (center_id, LOWER(email));
 
+-- El login busca por dni o email sin conocer el centro: sin estos índices recorrería todas las particiones
+CREATE INDEX idx_users_dni   ON users (dni);
+CREATE INDEX idx_users_email ON users (email);
+
 -- ================================================
 -- PATIENTS (particionada por center_id)
 -- ================================================
@@ -160,6 +164,54 @@ CREATE TABLE verification_tokens (
 
 CREATE INDEX idx_vt_user ON verification_tokens (center_id, user_id);
 CREATE UNIQUE INDEX uq_vt_token_per_center ON verification_tokens (center_id, token);
+-- findByToken no conoce el centro: índice solo por token (único no es posible sin la clave de partición)
+CREATE INDEX idx_vt_token ON verification_tokens (token);
+-- Purga: expirados por idx_verification_tokens_expiration, usados por el índice parcial (BitmapOr)
+CREATE INDEX idx_verification_tokens_expiration ON verification_tokens (expiration);
+CREATE INDEX idx_verification_tokens_used ON verification_tokens (id) WHERE used;
+
+-- ================================================
+-- REFRESH_TOKENS, REVOKED_TOKENS y EMAIL_OUTBOX (sin particionar)
+-- Nota: se buscan por hash / id, nunca por centro; sin FK
+-- porque la PK de users es (center_id, id)
+-- ================================================
+CREATE TABLE refresh_tokens (
+                                id BIGSERIAL PRIMARY KEY,
+                                user_id BIGINT NOT NULL,
+                                token_hash VARCHAR(64) NOT NULL UNIQUE,
+                                revoked BOOLEAN NOT NULL,
+                                replaced_by BIGINT, -- token emitido al rotarlo; NULL si se revocó por logout
+                                expiration TIMESTAMP NOT NULL,
+                                created_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens (user_id);
+
+CREATE TABLE revoked_tokens (
+                                id BIGSERIAL PRIMARY KEY,
+                                jti VARCHAR(64),
+                                user_id BIGINT,
+                                revoked_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                                expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+
+CREATE TABLE email_outbox (
+                              id BIGSERIAL PRIMARY KEY,
+                              recipient VARCHAR(255) NOT NULL,
+                              subject VARCHAR(255) NOT NULL,
+                              body TEXT NOT NULL,
+                              status VARCHAR(10) NOT NULL,
+                              attempts INT NOT NULL DEFAULT 0,
+                              next_attempt_at TIMESTAMP NOT NULL,
+                              last_error VARCHAR(500),
+                              created_at TIMESTAMP NOT NULL DEFAULT now(),
+                              sent_at TIMESTAMP
+);
+
+CREATE INDEX idx_email_outbox_due ON email_outbox (status, next_attempt_at);
 
 -- ================================================
 -- USERS_ROLES (particionada por center_id)
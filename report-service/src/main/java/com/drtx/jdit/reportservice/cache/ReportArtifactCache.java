@@ -0,0 +1,227 @@
+package com.drtx.jdit.reportservice.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * On-disk, content-addressed LRU cache of generated report artifacts.
+ * Artifacts are written once under their {@link ReportArtifactKey} file name and served
+ * from disk on later hits; the least recently used files are evicted above the byte budget.
+ */
+@Slf4j
+@Component
+public class ReportArtifactCache {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final long versionWindowMillis;
+
+    // Access-ordered index: iteration starts at the least recently used artifact
+    private final LinkedHashMap<ReportArtifactKey, Long> index = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    public ReportArtifactCache(
+            @Value("${reports.cache.dir:${java.io.tmpdir}/report-artifacts}") String directory,
+            @Value("${reports.cache.max-bytes:536870912}") long maxBytes,
+            @Value("${reports.cache.data-version-window:PT10M}") Duration versionWindow) {
+        this.directory = Paths.get(directory);
+        this.maxBytes = maxBytes;
+        this.versionWindowMillis = Math.max(1, versionWindow.toMillis());
+        loadIndex();
+    }
+
+    /**
+     * Current data-version stamp. Artifacts keyed with an older stamp are never hit again
+     * and age out of the LRU, bounding how stale a cached report can be.
+     */
+    public long currentDataVersion() {
+        return System.currentTimeMillis() / versionWindowMillis;
+    }
+
+    /**
+     * Opens a cached artifact for reading, marking it as recently used.
+     * The open channel keeps the data readable even if the file is evicted meanwhile.
+     * @return the channel, or null if the artifact is not cached
+     */
+    public FileChannel open(ReportArtifactKey key) {
+        synchronized (this) {
+            if (index.get(key) == null) {
+                return null;
+            }
+        }
+        try {
+            return FileChannel.open(resolve(key), StandardOpenOption.READ);
+        } catch (IOException e) {
+            synchronized (this) {
+                forget(key);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Writes an artifact to disk as it is produced
+     */
+    @FunctionalInterface
+    public interface ArtifactWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Stores an artifact. The file is written to a temporary name and atomically moved
+     * into place so concurrent readers never see a partial artifact.
+     */
+    public void put(ReportArtifactKey key, byte[] content) {
+        try {
+            write(key, out -> out.write(content));
+        } catch (UncheckedIOException e) {
+            log.warn("Could not store report artifact {}: {}", key, e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Streams an artifact straight to its file, so large exports are never buffered in memory.
+     * Like {@link #put}, the file only becomes visible once complete.
+     * @throws UncheckedIOException if the artifact could not be written
+     */
+    public void write(ReportArtifactKey key, ArtifactWriter writer) {
+        Path target = resolve(key);
+        Path temp = directory.resolve(key.fileName() + "." + Thread.currentThread().getId() + TEMP_SUFFIX);
+        long size;
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024)) {
+                writer.writeTo(out);
+            }
+            size = Files.size(temp);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("Could not store report artifact " + key, e);
+        } catch (RuntimeException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+        synchronized (this) {
+            Long previous = index.put(key, size);
+            totalBytes += size - (previous != null ? previous : 0);
+            evictIfNeeded();
+        }
+    }
+
+    /**
+     * Copies an opened artifact to the given output with {@link FileChannel#transferTo}
+     * and closes the channel
+     */
+    public static void transferTo(FileChannel channel, OutputStream out) throws IOException {
+        try (channel) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = 0;
+            long size = channel.size();
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+            out.flush();
+        }
+    }
+
+    private Path resolve(ReportArtifactKey key) {
+        return directory.resolve(key.fileName());
+    }
+
+    private void forget(ReportArtifactKey key) {
+        Long size = index.remove(key);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<ReportArtifactKey, Long>> it = index.entrySet().iterator();
+        // The most recently used artifact is kept even above the budget: it was just written or is about to be served
+        int evictable = index.size() - 1;
+        while (totalBytes > maxBytes && evictable-- > 0 && it.hasNext()) {
+            Map.Entry<ReportArtifactKey, Long> eldest = it.next();
+            it.remove();
+            totalBytes -= eldest.getValue();
+            deleteQuietly(resolve(eldest.getKey()));
+            log.debug("Evicted report artifact {}", eldest.getKey());
+        }
+    }
+
+    /**
+     * Rebuilds the index from the artifacts left on disk, oldest first so the LRU order survives restarts
+     */
+    private void loadIndex() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create report cache directory " + directory, e);
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(Files::isRegularFile)
+                    .sorted(Comparator.comparingLong(ReportArtifactCache::lastModified))
+                    .forEach(this::register);
+        } catch (IOException e) {
+            log.warn("Could not read report cache directory {}: {}", directory, e.getMessage());
+        }
+        evictIfNeeded();
+        log.info("Report artifact cache at {} with {} artifacts ({} bytes)", directory, index.size(), totalBytes);
+    }
+
+    private void register(Path file) {
+        String name = file.getFileName().toString();
+        if (name.endsWith(TEMP_SUFFIX)) {
+            deleteQuietly(file);
+            return;
+        }
+        ReportArtifactKey key = ReportArtifactKey.fromFileName(name);
+        if (key == null) {
+            return;
+        }
+        try {
+            long size = Files.size(file);
+            index.put(key, size);
+            totalBytes += size;
+        } catch (IOException e) {
+            log.debug("Skipping unreadable report artifact {}", file);
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.drtx.jdit.reportservice.cache;
+
+import com.drtx.jdit.reportservice.dto.ReportRequestDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content address of a generated report artifact.
+ * Built from the normalized request (type, format, filters) plus the data-version stamp,
+ * so two equivalent requests in the same data version resolve to the same file and ETag.
+ */
+public final class ReportArtifactKey {
+
+    private final String hash;
+    private final String extension;
+
+    private ReportArtifactKey(String hash, String extension) {
+        this.hash = hash;
+        this.extension = extension;
+    }
+
+    /**
+     * Builds the key for a report request
+     * @param request the report request
+     * @param extension file extension of the export format
+     * @param dataVersion data-version stamp the artifact was generated for
+     * @return the content-addressed key
+     */
+    public static ReportArtifactKey of(ReportRequestDTO request, String extension, long dataVersion) {
+        String canonical = String.join("|",
+                normalize(request.getReportType()),
+                normalize(request.getExportFormat()),
+                request.getFilterId() != null ? String.valueOf(request.getFilterId()) : "",
+                normalize(request.getStartDate()),
+                normalize(request.getEndDate()),
+                normalize(request.getMonth()),
+                String.valueOf(dataVersion));
+        return new ReportArtifactKey(sha256(canonical), extension);
+    }
+
+    /**
+     * Rebuilds a key from a file name previously produced by {@link #fileName()}
+     */
+    static ReportArtifactKey fromFileName(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        return new ReportArtifactKey(fileName.substring(0, dot), fileName.substring(dot + 1));
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    /**
+     * Strong ETag for this artifact
+     */
+    public String eTag() {
+        return "\"" + hash + "\"";
+    }
+
+    String fileName() {
+        return hash + "." + extension;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toUpperCase();
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ReportArtifactKey other)) return false;
+        return hash.equals(other.hash);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return fileName();
+    }
+}
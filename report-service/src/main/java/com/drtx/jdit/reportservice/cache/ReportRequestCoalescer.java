@@ -0,0 +1,71 @@
+package com.drtx.jdit.reportservice.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight deduplication of report generations.
+ * Concurrent requests with the same {@link ReportArtifactKey} wait for the one in-flight
+ * computation and all receive its result (or its exception).
+ */
+@Slf4j
+@Component
+public class ReportRequestCoalescer {
+
+    private final ConcurrentMap<ReportArtifactKey, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executedCounter;
+    private final Counter coalescedCounter;
+
+    public ReportRequestCoalescer(MeterRegistry meterRegistry) {
+        this.executedCounter = Counter.builder("reports.generation.executed")
+                .description("Report generations actually computed")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("reports.generation.coalesced")
+                .description("Report requests served by an identical in-flight generation")
+                .register(meterRegistry);
+        meterRegistry.gauge("reports.generation.in_flight", inFlight, ConcurrentMap::size);
+    }
+
+    /**
+     * Starts the generation for the key, or joins the one already running for an equal key
+     * @param key normalized report key
+     * @param generation starts the computation if no equal request is in flight
+     * @return a future completed once the report artifact is stored, shared by every coalesced request
+     */
+    public CompletableFuture<Void> execute(ReportArtifactKey key, Supplier<CompletableFuture<Void>> generation) {
+        CompletableFuture<Void> mine = new CompletableFuture<>();
+        CompletableFuture<Void> existing = inFlight.putIfAbsent(key, mine);
+
+        if (existing != null) {
+            coalescedCounter.increment();
+            log.debug("Reporte {} ya en generación, esperando el resultado compartido", key);
+            return existing;
+        }
+
+        executedCounter.increment();
+        CompletableFuture<Void> started;
+        try {
+            started = generation.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        started.whenComplete((result, error) -> {
+            inFlight.remove(key, mine);
+            if (error != null) {
+                mine.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            } else {
+                mine.complete(result);
+            }
+        });
+        return mine;
+    }
+}
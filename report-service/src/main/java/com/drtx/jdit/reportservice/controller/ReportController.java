@@ -1,7 +1,14 @@
 package com.drtx.jdit.reportservice.controller;
 
+import com.drtx.jdit.reportservice.cache.ReportArtifactCache;
+import com.drtx.jdit.reportservice.cache.ReportArtifactKey;
+import com.drtx.jdit.reportservice.cache.ReportRequestCoalescer;
 import com.drtx.jdit.reportservice.dto.*;
+import com.drtx.jdit.reportservice.dto.request.ReportFilterRequestDTO;
 import com.drtx.jdit.reportservice.enums.ExportFormat;
+import com.drtx.jdit.reportservice.scheduler.ReportScheduler;
+import com.drtx.jdit.reportservice.scheduler.ReportWorkload;
+import com.drtx.jdit.reportservice.service.DashboardService;
 import com.drtx.jdit.reportservice.service.ReportService;
 import com.drtx.jdit.reportservice.external.feign.ConsultingServiceClient;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,10 +19,17 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 @Tag(name = "Reportes", description = "Operaciones para generar y obtener reportes estadísticos del sistema")
 @RestController
@@ -26,9 +40,13 @@ public class ReportController {
 
     private final ReportService reportService;
     private final ConsultingServiceClient consultingServiceClient;
+    private final ReportArtifactCache artifactCache;
+    private final ReportRequestCoalescer requestCoalescer;
+    private final ReportScheduler reportScheduler;
+    private final DashboardService dashboardService;
     
     @Operation(
-            summary = "Genera un reporte en formato PDF, Excel o CSV",
+            summary = "Genera un reporte en formato PDF, Excel, CSV, Parquet o Arrow",
             description = "Permite generar reportes basados en parámetros específicos y obtener el archivo resultante"
     )
     @ApiResponses(value = {
@@ -37,11 +55,12 @@ public class ReportController {
             @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     @PostMapping("/generate")
-    public ResponseEntity<?> generateReport(@RequestBody ReportRequestDTO request) {
+    public CompletableFuture<ResponseEntity<?>> generateReport(
+            @RequestBody ReportRequestDTO request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = "X-Center-Id", required = false) String centerId) {
         log.info("Generando reporte tipo: {} en formato: {}", request.getReportType(), request.getExportFormat());
 
-        byte[] reportData = reportService.generateReport(request);
-        
         // Convertir exportFormat string a enum, con manejo de error
         ExportFormat formatEnum;
         try {
@@ -56,11 +75,49 @@ public class ReportController {
                 LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")),
                 getFileExtension(formatEnum));
 
+        // El artefacto se identifica por la petición normalizada y la versión de datos actual
+        ReportArtifactKey key = ReportArtifactKey.of(request, getFileExtension(formatEnum), artifactCache.currentDataVersion());
+
+        FileChannel cached = artifactCache.open(key);
+        if (cached != null) {
+            if (key.eTag().equals(ifNoneMatch)) {
+                closeQuietly(cached);
+                log.debug("Reporte {} sin cambios, respondiendo 304", key);
+                return CompletableFuture.completedFuture(
+                        ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(key.eTag()).build());
+            }
+            log.debug("Sirviendo reporte {} desde caché", key);
+            return CompletableFuture.completedFuture(artifactResponse(cached, key, formatEnum, filename));
+        }
+
+        // Peticiones idénticas concurrentes comparten una sola generación, encolada por centro médico.
+        // El reporte se escribe directamente al archivo del artefacto y se sirve desde disco, sin pasar por memoria
+        ReportWorkload workload = ReportWorkload.of(formatEnum);
+        final ExportFormat format = formatEnum;
+        return requestCoalescer.execute(key, () -> reportScheduler.submit(centerId, workload, () -> {
+                    artifactCache.write(key, out -> reportService.writeReport(request, out));
+                    return null;
+                }))
+                .thenApply(done -> {
+                    FileChannel generated = artifactCache.open(key);
+                    if (generated == null) {
+                        throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                                "El reporte generado ya no está disponible, intente nuevamente");
+                    }
+                    return artifactResponse(generated, key, format, filename);
+                });
+    }
+
+    private ResponseEntity<?> artifactResponse(FileChannel artifact, ReportArtifactKey key, ExportFormat format, String filename) {
+        StreamingResponseBody body = out -> ReportArtifactCache.transferTo(artifact, out);
         return ResponseEntity
                 .ok()
-                .contentType(getMediaType(formatEnum))
+                .contentType(getMediaType(format))
+                .contentLength(channelSize(artifact))
+                .eTag(key.eTag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .body(reportData);
+                .body(body);
     }
 
     @Operation(
@@ -73,11 +130,53 @@ public class ReportController {
             @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     @PostMapping("/data")
-    public ResponseEntity<ReportResponseDTO<?>> getReportData(@RequestBody ReportRequestDTO request) {
+    public CompletableFuture<ResponseEntity<ReportResponseDTO<?>>> getReportData(
+            @RequestBody ReportRequestDTO request,
+            @RequestHeader(value = "X-Center-Id", required = false) String centerId) {
         log.info("Obteniendo datos para reporte tipo: {}", request.getReportType());
 
-        ReportResponseDTO<?> response = reportService.getReportData(request);
-        return ResponseEntity.ok(response);
+        return reportScheduler.submit(centerId, ReportWorkload.INTERACTIVE, () -> reportService.getReportData(request))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @Operation(
+            summary = "Obtiene los datos de un reporte de forma progresiva",
+            description = "Devuelve las secciones del reporte como Server-Sent Events a medida que se calculan, terminando con un evento 'complete'"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Flujo de secciones del reporte"),
+            @ApiResponse(responseCode = "400", description = "Parámetros inválidos"),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @PostMapping(value = "/data/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamReportData(@RequestBody ReportRequestDTO request) {
+        log.info("Obteniendo datos progresivos para reporte tipo: {}", request.getReportType());
+
+        // La conexión se abre aquí, donde el token del usuario está disponible
+        InputStream events = reportService.openReportDataStream(request);
+        StreamingResponseBody body = out -> relay(events, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .cacheControl(CacheControl.noCache())
+                .header("X-Accel-Buffering", "no")
+                .body(body);
+    }
+
+    @Operation(
+            summary = "Obtiene el dashboard de consultas",
+            description = "Devuelve las vistas por especialidad, médico, centro médico y mes calculadas a partir de una sola consulta de datos"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Dashboard obtenido correctamente"),
+            @ApiResponse(responseCode = "400", description = "Parámetros inválidos"),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @PostMapping("/dashboard")
+    public ResponseEntity<DashboardResponseDTO> getDashboard(@RequestBody ReportFilterRequestDTO filters) {
+        log.info("Obteniendo dashboard con filtros: {}", filters);
+
+        return ResponseEntity.ok(dashboardService.getDashboard(filters));
     }
 
     @Operation(
@@ -201,14 +300,49 @@ public class ReportController {
             case EXCEL -> MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
             case CSV -> MediaType.parseMediaType("text/csv");
             case PDF -> MediaType.parseMediaType("application/pdf");
+            case PARQUET -> MediaType.parseMediaType("application/vnd.apache.parquet");
+            case ARROW -> MediaType.parseMediaType("application/vnd.apache.arrow.file");
         };
     }
     
+    private long channelSize(FileChannel channel) {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Copies the upstream event stream to the client, flushing after every read so each section
+     * reaches the client as soon as consulting-service emits it
+     */
+    private void relay(InputStream events, OutputStream out) throws IOException {
+        try (events) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = events.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                out.flush();
+            }
+        }
+    }
+
+    private void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("No se pudo cerrar el artefacto en caché: {}", e.getMessage());
+        }
+    }
+
     private String getFileExtension(ExportFormat format) {
         return switch (format) {
             case EXCEL -> "xlsx";
             case CSV -> "csv";
             case PDF -> "pdf";
+            case PARQUET -> "parquet";
+            case ARROW -> "arrow";
         };
     }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.drtx.jdit.reportservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO para solicitar el conjunto compacto de hechos de consultas
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsultationFactsRequestDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<Long> medicalCenters;
+    private List<Long> doctors;
+}
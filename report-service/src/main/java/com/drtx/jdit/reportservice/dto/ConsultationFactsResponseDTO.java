@@ -0,0 +1,48 @@
+package com.drtx.jdit.reportservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact consultation fact set returned by consulting-service.
+ * Facts only carry ids; names are resolved through the lookup maps.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsultationFactsResponseDTO {
+    private List<ConsultationFact> facts;
+
+    @Builder.Default
+    private Map<Long, String> doctorNames = new HashMap<>();
+
+    @Builder.Default
+    private Map<Long, String> doctorSpecialties = new HashMap<>();
+
+    @Builder.Default
+    private Map<Long, String> centerNames = new HashMap<>();
+
+    @Builder.Default
+    private Map<Long, String> patientNames = new HashMap<>();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ConsultationFact {
+        private Long consultationId;
+        private LocalDateTime date;
+        private Long centerId;
+        private Long doctorId;
+        private Long patientId;
+        private String status;
+    }
+}
@@ -0,0 +1,38 @@
+package com.drtx.jdit.reportservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO with the four dashboard report views derived from a single fact fetch
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardResponseDTO {
+    private Integer totalConsultations;
+    private String generatedAt;
+
+    @Builder.Default
+    private List<SpecialtyConsultationDTO> bySpecialty = new ArrayList<>();
+
+    @Builder.Default
+    private List<DoctorConsultationDTO> byDoctor = new ArrayList<>();
+
+    @Builder.Default
+    private List<MedicalCenterConsultationDTO> byCenter = new ArrayList<>();
+
+    @Builder.Default
+    private List<MonthlyConsultationDTO> byMonth = new ArrayList<>();
+
+    @Builder.Default
+    private Map<String, Integer> weeklyDistribution = new LinkedHashMap<>();
+}
@@ -13,7 +13,7 @@ public class ReportRequestDTO {
     
     /**
      * Formato de exportación del reporte
-     * Valores posibles: EXCEL, CSV, PDF
+     * Valores posibles: EXCEL, CSV, PDF, PARQUET, ARROW
      */
     private String exportFormat;
     
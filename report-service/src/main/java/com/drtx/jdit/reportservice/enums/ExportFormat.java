@@ -6,5 +6,7 @@ package com.drtx.jdit.reportservice.enums;
 public enum ExportFormat {
     EXCEL,
     CSV,
-    PDF
+    PDF,
+    PARQUET,
+    ARROW
 }
\ No newline at end of file
@@ -55,4 +55,46 @@ public interface ConsultingServiceClient {
             @RequestBody MonthlyReportRequestDTO request
     );
 
-}
\ No newline at end of file
+    /**
+     * Gets the compact consultation fact set used to build the dashboard
+     */
+    @PostMapping("/api/consulting/reports/facts")
+    ConsultationFactsResponseDTO getConsultationFacts(
+            @RequestHeader("Authorization") String token,
+            @RequestHeader("X-Roles") String roles,
+            @RequestBody ConsultationFactsRequestDTO request
+    );
+
+    /*
+     * Progressive (Server-Sent Events) variants of the reports above. The raw response is returned
+     * undecoded so its body can be relayed to the client while consulting-service is still producing it.
+     */
+
+    @PostMapping(value = "/api/consulting/reports/by-specialty/stream", produces = "text/event-stream")
+    feign.Response streamConsultationsBySpecialty(
+            @RequestHeader("Authorization") String token,
+            @RequestHeader("X-Roles") String roles,
+            @RequestBody SpecialtyReportRequestDTO request
+    );
+
+    @PostMapping(value = "/api/consulting/reports/by-doctor/stream", produces = "text/event-stream")
+    feign.Response streamConsultationsByDoctor(
+            @RequestHeader("Authorization") String token,
+            @RequestHeader("X-Roles") String roles,
+            @RequestBody DoctorReportRequestDTO request
+    );
+
+    @PostMapping(value = "/api/consulting/reports/by-center/stream", produces = "text/event-stream")
+    feign.Response streamConsultationsByCenter(
+            @RequestHeader("Authorization") String token,
+            @RequestHeader("X-Roles") String roles,
+            @RequestBody MedicalCenterReportRequestDTO request
+    );
+
+    @PostMapping(value = "/api/consulting/reports/by-month/stream", produces = "text/event-stream")
+    feign.Response streamConsultationsByMonth(
+            @RequestHeader("Authorization") String token,
+            @RequestHeader("X-Roles") String roles,
+            @RequestBody MonthlyReportRequestDTO request
+    );
+}
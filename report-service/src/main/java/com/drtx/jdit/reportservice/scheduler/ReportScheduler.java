@@ -0,0 +1,276 @@
+package com.drtx.jdit.reportservice.scheduler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Weighted fair-share scheduler for report generation.
+ * Each medical center (X-Center-Id) gets a share of the workers proportional to its weight,
+ * using start-time fair queuing across centers: a backlogged center is tagged with a virtual finish time of
+ * {@code max(virtualTime, lastFinish[center]) + cost / weight} for its next task and the lowest tag runs first.
+ * Within a center, interactive requests always run before that center's queued bulk renders,
+ * and bulk renders cost more, so a center's bulk work also yields to other centers without starving.
+ */
+@Slf4j
+@Component
+public class ReportScheduler {
+
+    private static final String UNKNOWN_CENTER = "unknown";
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    // Centers with queued work, ordered by the finish tag of their next task
+    private final PriorityQueue<CenterQueue> backlogged = new PriorityQueue<>();
+    private final Map<String, CenterQueue> centers = new HashMap<>();
+    private final Map<String, Double> centerWeights;
+    private final Map<String, Timer> waitTimers = new HashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final MeterRegistry meterRegistry;
+    private final double bulkCost;
+    private final int maxQueued;
+    private double virtualTime;
+    private long sequence;
+    private int queued;
+    private volatile boolean running = true;
+
+    public ReportScheduler(MeterRegistry meterRegistry,
+                           @Value("${reports.scheduler.max-concurrency:0}") int maxConcurrency,
+                           @Value("${reports.scheduler.max-queued:200}") int maxQueued,
+                           @Value("${reports.scheduler.bulk-cost:8}") double bulkCost,
+                           @Value("${reports.scheduler.center-weights:}") String centerWeights) {
+        this.meterRegistry = meterRegistry;
+        this.maxQueued = maxQueued;
+        this.bulkCost = Math.max(1.0, bulkCost);
+        this.centerWeights = parseWeights(centerWeights);
+
+        // Rendering is CPU bound: by default one worker per available core
+        int concurrency = maxConcurrency > 0 ? maxConcurrency : Runtime.getRuntime().availableProcessors();
+        for (int i = 1; i <= concurrency; i++) {
+            Thread worker = new Thread(this::work, "report-scheduler-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        meterRegistry.gauge("reports.scheduler.queued", this, ReportScheduler::size);
+        log.info("Report scheduler started with {} workers", concurrency);
+    }
+
+    /**
+     * Queues a report task for the given center
+     * @param centerId value of the X-Center-Id header, may be empty
+     * @param workload scheduling class of the request
+     * @param task the generation to run; it sees the caller's security context
+     * @return a future completed with the task result
+     */
+    public <T> CompletableFuture<T> submit(String centerId, ReportWorkload workload, Supplier<T> task) {
+        String center = centerId == null || centerId.isBlank() ? UNKNOWN_CENTER : centerId.trim();
+        ScheduledReport<T> report = new ScheduledReport<>(center, task, SecurityContextHolder.getContext());
+
+        lock.lock();
+        try {
+            if (queued >= maxQueued) {
+                report.future.completeExceptionally(new ResponseStatusException(
+                        HttpStatus.SERVICE_UNAVAILABLE, "Cola de generación de reportes llena, intente más tarde"));
+                return report.future;
+            }
+            CenterQueue centerQueue = centers.computeIfAbsent(center,
+                    c -> new CenterQueue(centerWeights.getOrDefault(c, 1.0)));
+            boolean wasBacklogged = centerQueue.hasWork();
+            boolean headWasBulk = wasBacklogged && centerQueue.interactive.isEmpty();
+            centerQueue.add(report, workload);
+            queued++;
+
+            if (!wasBacklogged) {
+                tag(centerQueue);
+                backlogged.add(centerQueue);
+            } else if (workload == ReportWorkload.INTERACTIVE && headWasBulk) {
+                // The center's next task is now this interactive request: re-tag it with the lower cost
+                backlogged.remove(centerQueue);
+                tag(centerQueue);
+                backlogged.add(centerQueue);
+            }
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        return report.future;
+    }
+
+    private void work() {
+        while (running) {
+            ScheduledReport<?> report;
+            lock.lock();
+            try {
+                while (backlogged.isEmpty() && running) {
+                    notEmpty.await();
+                }
+                if (!running) {
+                    return;
+                }
+                CenterQueue centerQueue = backlogged.poll();
+                report = centerQueue.next();
+                queued--;
+                virtualTime = Math.max(virtualTime, centerQueue.startTag);
+                centerQueue.lastFinish = centerQueue.finishTag;
+                if (centerQueue.hasWork()) {
+                    tag(centerQueue);
+                    backlogged.add(centerQueue);
+                }
+                if (backlogged.isEmpty()) {
+                    // Idle system: forget old tags so they cannot penalize future requests
+                    centers.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            waitTimer(report.center).record(System.nanoTime() - report.enqueuedAt, TimeUnit.NANOSECONDS);
+            report.run();
+        }
+    }
+
+    /**
+     * Tags a backlogged center with the virtual start and finish of its next task. Caller holds the lock.
+     */
+    private void tag(CenterQueue centerQueue) {
+        double cost = centerQueue.interactive.isEmpty() ? bulkCost : 1.0;
+        centerQueue.startTag = Math.max(virtualTime, centerQueue.lastFinish);
+        centerQueue.finishTag = centerQueue.startTag + cost / centerQueue.weight;
+        centerQueue.sequence = sequence++;
+    }
+
+    private Timer waitTimer(String center) {
+        lock.lock();
+        try {
+            return waitTimers.computeIfAbsent(center, c -> Timer.builder("reports.scheduler.queue.wait")
+                    .description("Time report requests wait for a scheduler worker")
+                    .tag("center", c)
+                    .register(meterRegistry));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int size() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Parses weights in the form {@code centerId=weight,centerId=weight}
+     */
+    private static Map<String, Double> parseWeights(String value) {
+        Map<String, Double> weights = new HashMap<>();
+        if (value == null || value.isBlank()) {
+            return weights;
+        }
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                log.warn("Ignoring invalid scheduler weight entry: {}", entry);
+                continue;
+            }
+            try {
+                double weight = Double.parseDouble(parts[1].trim());
+                if (weight > 0) {
+                    weights.put(parts[0].trim(), weight);
+                }
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring invalid scheduler weight entry: {}", entry);
+            }
+        }
+        return weights;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Queued work of one center: interactive requests are always taken before bulk renders
+     */
+    private static final class CenterQueue implements Comparable<CenterQueue> {
+        private final double weight;
+        private final ArrayDeque<ScheduledReport<?>> interactive = new ArrayDeque<>();
+        private final ArrayDeque<ScheduledReport<?>> bulk = new ArrayDeque<>();
+        private double lastFinish;
+        private double startTag;
+        private double finishTag;
+        private long sequence;
+
+        private CenterQueue(double weight) {
+            this.weight = weight;
+        }
+
+        private void add(ScheduledReport<?> report, ReportWorkload workload) {
+            (workload == ReportWorkload.BULK ? bulk : interactive).addLast(report);
+        }
+
+        private ScheduledReport<?> next() {
+            return !interactive.isEmpty() ? interactive.pollFirst() : bulk.pollFirst();
+        }
+
+        private boolean hasWork() {
+            return !interactive.isEmpty() || !bulk.isEmpty();
+        }
+
+        @Override
+        public int compareTo(CenterQueue other) {
+            int byTag = Double.compare(finishTag, other.finishTag);
+            return byTag != 0 ? byTag : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private static final class ScheduledReport<T> {
+        private final String center;
+        private final Supplier<T> task;
+        private final SecurityContext securityContext;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final long enqueuedAt = System.nanoTime();
+
+        private ScheduledReport(String center, Supplier<T> task, SecurityContext securityContext) {
+            this.center = center;
+            this.task = task;
+            this.securityContext = securityContext;
+        }
+
+        private void run() {
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                future.complete(task.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }
+    }
+}
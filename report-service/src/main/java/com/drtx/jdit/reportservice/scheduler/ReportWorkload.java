@@ -0,0 +1,23 @@
+package com.drtx.jdit.reportservice.scheduler;
+
+import com.drtx.jdit.reportservice.enums.ExportFormat;
+
+/**
+ * Scheduling class of a report request.
+ * Interactive requests (JSON data and light formats) are cheap and should not wait behind bulk renders.
+ */
+public enum ReportWorkload {
+    INTERACTIVE,
+    BULK;
+
+    /**
+     * Resolves the workload of an export format: PDF, Excel and the columnar exports (Parquet, Arrow) are
+     * bulk renders of the whole dataset, everything else interactive
+     */
+    public static ReportWorkload of(ExportFormat format) {
+        return switch (format) {
+            case PDF, EXCEL, PARQUET, ARROW -> BULK;
+            default -> INTERACTIVE;
+        };
+    }
+}
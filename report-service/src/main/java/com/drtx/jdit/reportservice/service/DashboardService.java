@@ -0,0 +1,14 @@
+package com.drtx.jdit.reportservice.service;
+
+import com.drtx.jdit.reportservice.dto.DashboardResponseDTO;
+import com.drtx.jdit.reportservice.dto.request.ReportFilterRequestDTO;
+
+public interface DashboardService {
+    /**
+     * Builds the specialty, doctor, medical center and monthly views of the dashboard
+     * from one consultation fact fetch
+     * @param filters the filters to apply (dates, medical centers, doctors)
+     * @return the four report views together
+     */
+    DashboardResponseDTO getDashboard(ReportFilterRequestDTO filters);
+}
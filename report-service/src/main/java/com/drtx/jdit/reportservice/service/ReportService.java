@@ -13,6 +13,8 @@ import com.drtx.jdit.reportservice.dto.request.ReportFilterRequestDTO;
  * Para evitar conflictos, se debe tener cuidado de no mezclar las dos implementaciones de ReportResponseDTO
  */
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ReportService {
@@ -22,6 +24,14 @@ public interface ReportService {
      * @return byte array with the content of the generated report
      */
     byte[] generateReport(ReportRequestDTO request);
+
+    /**
+     * Generates a report in the requested format and writes it to the given output.
+     * Columnar formats (Parquet, Arrow) are streamed as they are encoded instead of being buffered.
+     * @param request DTO with the requested report information
+     * @param out destination of the report content; it is not closed
+     */
+    void writeReport(ReportRequestDTO request, OutputStream out);
     
     /**
      * Gets the report data without applying export formatting
@@ -29,6 +39,14 @@ public interface ReportService {
      * @return ReportResponseDTO from dto package with the requested data
      */
     ReportResponseDTO<?> getReportData(ReportRequestDTO request);
+
+    /**
+     * Opens the progressive (Server-Sent Events) report stream from consulting-service.
+     * Sections arrive as they are computed; the caller must close the returned stream.
+     * @param request DTO with the requested report information
+     * @return the raw event stream
+     */
+    InputStream openReportDataStream(ReportRequestDTO request);
     
     /**
      * Consultations by specialty with optional filters
@@ -0,0 +1,68 @@
+package com.drtx.jdit.reportservice.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs one sub-request per medical center on a bounded pool.
+ * The pool size is the global cap on concurrent center calls to consulting-service.
+ */
+@Slf4j
+@Component
+public class CenterFanOutExecutor {
+
+    private final ExecutorService executor;
+
+    public CenterFanOutExecutor(@Value("${reports.fan-out.max-concurrency:4}") int maxConcurrency) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, maxConcurrency), runnable -> {
+            Thread thread = new Thread(runnable, "report-fan-out-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Calls the given function once per center concurrently
+     * @param centerIds the centers to split the request by
+     * @param call the sub-request for a single center
+     * @return the partial results, in the same order as the centers
+     */
+    public <R> List<R> forEachCenter(List<Long> centerIds, Function<Long, R> call) {
+        List<CompletableFuture<R>> futures = new ArrayList<>(centerIds.size());
+        for (Long centerId : centerIds) {
+            futures.add(CompletableFuture.supplyAsync(() -> call.apply(centerId), executor));
+        }
+
+        List<R> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<R> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+        log.debug("Fan-out completado para {} centros", centerIds.size());
+        return results;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
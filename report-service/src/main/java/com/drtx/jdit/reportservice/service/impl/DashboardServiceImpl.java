@@ -0,0 +1,213 @@
+package com.drtx.jdit.reportservice.service.impl;
+
+import com.drtx.jdit.reportservice.dto.*;
+import com.drtx.jdit.reportservice.dto.request.ReportFilterRequestDTO;
+import com.drtx.jdit.reportservice.external.feign.ConsultingServiceClient;
+import com.drtx.jdit.reportservice.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Builds every dashboard view from one compact fact fetch to consulting-service,
+ * instead of one enriched report request per view. Multi-center requests are split per center
+ * and fetched concurrently.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardServiceImpl implements DashboardService {
+
+    private final ConsultingServiceClient consultingServiceClient;
+    private final CenterFanOutExecutor fanOutExecutor;
+
+    @Override
+    public DashboardResponseDTO getDashboard(ReportFilterRequestDTO filters) {
+        final String token = getAuthorizationToken();
+        List<Long> centers = filters.getMedicalCenters();
+
+        ConsultationFactsResponseDTO response;
+        if (centers != null && centers.size() > 1) {
+            // One sub-request per center: partial fact sets are disjoint, so merging them is exact
+            List<ConsultationFactsResponseDTO> partials = fanOutExecutor.forEachCenter(centers,
+                    centerId -> fetchFacts(token, filters, List.of(centerId)));
+            response = mergeFacts(partials);
+        } else {
+            response = fetchFacts(token, filters, centers);
+        }
+
+        return buildDashboard(response);
+    }
+
+    private ConsultationFactsResponseDTO fetchFacts(String token, ReportFilterRequestDTO filters, List<Long> centers) {
+        ConsultationFactsRequestDTO request = ConsultationFactsRequestDTO.builder()
+                .startDate(filters.getStartDate())
+                .endDate(filters.getEndDate())
+                .medicalCenters(centers)
+                .doctors(filters.getDoctors())
+                .build();
+
+        return consultingServiceClient.getConsultationFacts(
+                token,
+                ConsultingServiceClient.DEFAULT_ROLE,
+                request
+        );
+    }
+
+    /**
+     * Merges per-center fact sets. Facts are concatenated and re-sorted by date, as the single query returns them;
+     * the name lookups are unioned, so distinct doctors, centers and patients stay exact.
+     */
+    private ConsultationFactsResponseDTO mergeFacts(List<ConsultationFactsResponseDTO> partials) {
+        ConsultationFactsResponseDTO merged = ConsultationFactsResponseDTO.builder()
+                .facts(new ArrayList<>())
+                .build();
+
+        for (ConsultationFactsResponseDTO partial : partials) {
+            if (partial == null) {
+                continue;
+            }
+            if (partial.getFacts() != null) merged.getFacts().addAll(partial.getFacts());
+            if (partial.getDoctorNames() != null) merged.getDoctorNames().putAll(partial.getDoctorNames());
+            if (partial.getDoctorSpecialties() != null) merged.getDoctorSpecialties().putAll(partial.getDoctorSpecialties());
+            if (partial.getCenterNames() != null) merged.getCenterNames().putAll(partial.getCenterNames());
+            if (partial.getPatientNames() != null) merged.getPatientNames().putAll(partial.getPatientNames());
+        }
+
+        merged.getFacts().sort(Comparator
+                .comparing(ConsultationFactsResponseDTO.ConsultationFact::getDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(ConsultationFactsResponseDTO.ConsultationFact::getConsultationId, Comparator.nullsLast(Comparator.naturalOrder())));
+        return merged;
+    }
+
+    /**
+     * Derives the four views in a single pass over the facts
+     */
+    private DashboardResponseDTO buildDashboard(ConsultationFactsResponseDTO response) {
+        List<ConsultationFactsResponseDTO.ConsultationFact> facts =
+                response != null && response.getFacts() != null ? response.getFacts() : List.of();
+
+        Map<String, Long> specialtyTotals = new LinkedHashMap<>();
+        Map<Long, DoctorConsultationDTO> doctors = new LinkedHashMap<>();
+        Map<Long, MedicalCenterConsultationDTO> centers = new LinkedHashMap<>();
+        Map<YearMonth, Map<String, Integer>> monthSpecialties = new TreeMap<>();
+        Map<YearMonth, Integer> monthTotals = new HashMap<>();
+        Map<String, Integer> weeklyDistribution = new LinkedHashMap<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            weeklyDistribution.put(formatDay(day), 0);
+        }
+
+        for (ConsultationFactsResponseDTO.ConsultationFact fact : facts) {
+            String doctorName = lookup(response.getDoctorNames(), fact.getDoctorId(), "Dr. ID:" + fact.getDoctorId());
+            String specialty = lookup(response.getDoctorSpecialties(), fact.getDoctorId(), "Sin especialidad");
+            String centerName = lookup(response.getCenterNames(), fact.getCenterId(), "Centro ID: " + fact.getCenterId());
+            String patientName = lookup(response.getPatientNames(), fact.getPatientId(), "Paciente ID: " + fact.getPatientId());
+
+            specialtyTotals.merge(specialty, 1L, Long::sum);
+
+            DoctorConsultationDTO doctor = doctors.computeIfAbsent(fact.getDoctorId(), id -> DoctorConsultationDTO.builder()
+                    .doctorId(id)
+                    .doctorName(doctorName)
+                    .specialty(specialty)
+                    .dni(id != null ? String.valueOf(id) : null)
+                    .totalConsultations(0L)
+                    .build());
+            doctor.setTotalConsultations(doctor.getTotalConsultations() + 1);
+            doctor.getConsultations().add(DoctorConsultationDTO.ConsultationDetail.builder()
+                    .id(fact.getConsultationId())
+                    .patientName(patientName)
+                    .consultationDate(fact.getDate())
+                    .status(fact.getStatus())
+                    .medicalCenter(centerName)
+                    .build());
+
+            MedicalCenterConsultationDTO center = centers.computeIfAbsent(fact.getCenterId(), id -> MedicalCenterConsultationDTO.builder()
+                    .centerId(id)
+                    .centerName(centerName)
+                    .totalConsultations(0L)
+                    .build());
+            center.setTotalConsultations(center.getTotalConsultations() + 1);
+            center.getConsultations().add(MedicalCenterConsultationDTO.ConsultationDetail.builder()
+                    .id(fact.getConsultationId())
+                    .doctorName(doctorName)
+                    .patientName(patientName)
+                    .specialty(specialty)
+                    .consultationDate(fact.getDate())
+                    .status(fact.getStatus())
+                    .build());
+
+            if (fact.getDate() != null) {
+                YearMonth month = YearMonth.from(fact.getDate());
+                monthTotals.merge(month, 1, Integer::sum);
+                monthSpecialties.computeIfAbsent(month, m -> new LinkedHashMap<>()).merge(specialty, 1, Integer::sum);
+                weeklyDistribution.merge(formatDay(fact.getDate().getDayOfWeek()), 1, Integer::sum);
+            }
+        }
+
+        List<SpecialtyConsultationDTO> bySpecialty = new ArrayList<>(specialtyTotals.size());
+        specialtyTotals.forEach((specialty, total) -> bySpecialty.add(SpecialtyConsultationDTO.builder()
+                .specialty(specialty)
+                .totalConsultations(total)
+                .build()));
+
+        List<MonthlyConsultationDTO> byMonth = new ArrayList<>(monthSpecialties.size());
+        monthSpecialties.forEach((month, specialties) -> {
+            List<MonthlyConsultationDTO.SpecialtySummary> summaries = new ArrayList<>(specialties.size());
+            specialties.forEach((name, count) -> summaries.add(MonthlyConsultationDTO.SpecialtySummary.builder()
+                    .specialtyName(name)
+                    .consultationCount(count)
+                    .build()));
+            byMonth.add(MonthlyConsultationDTO.builder()
+                    .year(month.getYear())
+                    .month(month.getMonthValue())
+                    .totalConsultations(monthTotals.get(month))
+                    .specialties(summaries)
+                    .build());
+        });
+
+        log.info("Dashboard generado con {} consultas", facts.size());
+
+        return DashboardResponseDTO.builder()
+                .totalConsultations(facts.size())
+                .generatedAt(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                .bySpecialty(bySpecialty)
+                .byDoctor(new ArrayList<>(doctors.values()))
+                .byCenter(new ArrayList<>(centers.values()))
+                .byMonth(byMonth)
+                .weeklyDistribution(weeklyDistribution)
+                .build();
+    }
+
+    // Same day labels as consulting-service weekly distributions (Monday, Tuesday, ...)
+    private static String formatDay(DayOfWeek day) {
+        String name = day.toString();
+        return name.charAt(0) + name.substring(1).toLowerCase();
+    }
+
+    private static String lookup(Map<Long, String> names, Long id, String fallback) {
+        if (names == null || id == null) {
+            return fallback;
+        }
+        String name = names.get(id);
+        return name != null ? name : fallback;
+    }
+
+    /**
+     * Gets the current JWT token from the security context
+     */
+    private String getAuthorizationToken() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getCredentials() != null) {
+            return "Bearer " + authentication.getCredentials().toString();
+        }
+        return "";
+    }
+}
@@ -8,6 +8,7 @@ import com.drtx.jdit.reportservice.enums.ExportFormat;
 import com.drtx.jdit.reportservice.enums.ReportType;
 import com.drtx.jdit.reportservice.external.feign.ConsultingServiceClient;
 import com.drtx.jdit.reportservice.service.ReportService;
+import com.drtx.jdit.reportservice.utils.ColumnarExportUtil;
 import com.drtx.jdit.reportservice.utils.ReportExportUtil;
 // import lombok.RequiredArgsConstructor;
 // import lombok.extern.slf4j.Slf4j;
@@ -15,10 +16,15 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -32,11 +38,17 @@ public class ReportServiceImpl implements ReportService {
     
     private final ConsultingServiceClient consultingServiceClient;
     private final ReportExportUtil reportExportUtil;
+    private final ColumnarExportUtil columnarExportUtil;
+    private final CenterFanOutExecutor fanOutExecutor;
 
     public ReportServiceImpl(ConsultingServiceClient consultingServiceClient, 
-                           ReportExportUtil reportExportUtil) {
+                           ReportExportUtil reportExportUtil,
+                           ColumnarExportUtil columnarExportUtil,
+                           CenterFanOutExecutor fanOutExecutor) {
         this.consultingServiceClient = consultingServiceClient;
         this.reportExportUtil = reportExportUtil;
+        this.columnarExportUtil = columnarExportUtil;
+        this.fanOutExecutor = fanOutExecutor;
     }
 
     @Override
@@ -49,40 +61,9 @@ public class ReportServiceImpl implements ReportService {
             ExportFormat format = ExportFormat.valueOf(request.getExportFormat().toUpperCase());
             String reportName = getReportName(request.getReportType());
             
-            // Get report data
+            // Get report data; filterId and dates are pushed down to consulting-service,
+            // so a single-doctor report only carries that doctor's consultations
             var responseData = getReportData(request);
-
-            // If this is a DOCTOR report and a specific doctor id was requested, try to narrow
-            // the response to that single doctor so the PDF export shows doctor-focused info.
-            try {
-                if ("DOCTOR".equalsIgnoreCase(request.getReportType()) && request.getFilterId() != null) {
-                    List<?> dataList = responseData.getData();
-                    if (dataList != null && dataList.size() > 1) {
-                        List<DoctorConsultationDTO> filtered = dataList.stream()
-                            .filter(d -> d instanceof DoctorConsultationDTO)
-                            .map(d -> (DoctorConsultationDTO) d)
-                            .filter(doc -> doc.getDoctorId() != null && doc.getDoctorId().equals(request.getFilterId()))
-                            .collect(Collectors.toList());
-
-                        if (!filtered.isEmpty()) {
-                            // Build a new ReportResponseDTO with only the targeted doctor
-                            var singleResponse = new ReportResponseDTO<DoctorConsultationDTO>();
-                            singleResponse.setData(filtered);
-                            singleResponse.setReportName(responseData.getReportName());
-                            singleResponse.setMessage(responseData.getMessage());
-                            singleResponse.setTotalElements(filtered.size());
-                            singleResponse.setGeneratedAt(responseData.getGeneratedAt());
-                            singleResponse.setMetadata(responseData.getMetadata());
-                            singleResponse.setAdditionalData(responseData.getAdditionalData());
-
-                            // Replace responseData used for export
-                            responseData = singleResponse;
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                // Best effort filtering, do not fail the whole generation if it errors
-            }
             
             // Convert to the format expected by ReportExportUtil
             var exportFormat = transformResponse(responseData);
@@ -92,6 +73,8 @@ public class ReportServiceImpl implements ReportService {
                 case EXCEL -> reportExportUtil.exportToExcel(exportFormat, reportName);
                 case CSV -> reportExportUtil.exportToCsv(exportFormat).getBytes(StandardCharsets.UTF_8);
                 case PDF -> reportExportUtil.exportToPdf(exportFormat, reportName);
+                case PARQUET -> columnarExportUtil.exportToParquet(exportFormat);
+                case ARROW -> columnarExportUtil.exportToArrow(exportFormat);
                 default -> throw new IllegalArgumentException("Unsupported report format: " + format);
             };
         } catch (IllegalArgumentException e) {
@@ -103,6 +86,29 @@ public class ReportServiceImpl implements ReportService {
         }
     }
 
+    @Override
+    public void writeReport(ReportRequestDTO request, OutputStream out) {
+        ExportFormat format;
+        try {
+            format = ExportFormat.valueOf(request.getExportFormat().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid report format: " + request.getExportFormat());
+        }
+
+        switch (format) {
+            case PARQUET -> columnarExportUtil.writeParquet(transformResponse(getReportData(request)), out);
+            case ARROW -> columnarExportUtil.writeArrow(transformResponse(getReportData(request)), out);
+            default -> {
+                // PDF, Excel and CSV are rendered in memory by their libraries
+                try {
+                    out.write(generateReport(request));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Error writing report", e);
+                }
+            }
+        }
+    }
+
     @Override
     public ReportResponseDTO<?> getReportData(ReportRequestDTO request) {
         // Convert report type to enum
@@ -121,6 +127,37 @@ public class ReportServiceImpl implements ReportService {
         };
     }
     
+    @Override
+    public InputStream openReportDataStream(ReportRequestDTO request) {
+        ReportType reportType = ReportType.valueOf(request.getReportType().toUpperCase());
+        ReportFilterRequestDTO filters = createFilterRequest(request);
+        // Resolved on the request thread: the token lives in its security context
+        final String token = getAuthorizationToken();
+
+        feign.Response response = switch (reportType) {
+            case SPECIALTY -> consultingServiceClient.streamConsultationsBySpecialty(
+                    token, ConsultingServiceClient.DEFAULT_ROLE, createSpecialtyRequest(filters));
+            case DOCTOR -> consultingServiceClient.streamConsultationsByDoctor(
+                    token, ConsultingServiceClient.DEFAULT_ROLE, createDoctorRequest(filters));
+            case MEDICAL_CENTER -> consultingServiceClient.streamConsultationsByCenter(
+                    token, ConsultingServiceClient.DEFAULT_ROLE, createMedicalCenterRequest(filters));
+            case MONTHLY -> consultingServiceClient.streamConsultationsByMonth(
+                    token, ConsultingServiceClient.DEFAULT_ROLE, createMonthlyRequest(filters));
+            default -> throw new IllegalArgumentException("Unsupported report type: " + reportType);
+        };
+
+        if (response.status() < 200 || response.status() >= 300 || response.body() == null) {
+            response.close();
+            throw new RuntimeException("Error opening report stream: consulting-service answered " + response.status());
+        }
+        try {
+            return response.body().asInputStream();
+        } catch (IOException e) {
+            response.close();
+            throw new UncheckedIOException("Error opening report stream", e);
+        }
+    }
+
     /**
      * Converts a ReportRequestDTO to ReportFilterRequestDTO to call existing methods
      */
@@ -373,18 +410,17 @@ public class ReportServiceImpl implements ReportService {
         // log.info("Getting monthly consultation report with filters: {}", filters);
 
         try {
-            // Create request DTO
-            MonthlyReportRequestDTO request = createMonthlyRequest(filters);
-            
-            // Call the consulting service via Feign client
-            MonthlyReportResponseDTO reportResponse = consultingServiceClient.getConsultationsByMonth(
-                token,
-                ConsultingServiceClient.DEFAULT_ROLE,
-                request
-            );
-            
-            // Convert structured response to our DTO format
-            List<MonthlyConsultationDTO> consultations = convertMonthlyReportToConsultationDTOs(reportResponse);
+            List<Long> centers = filters.getMedicalCenters();
+            List<MonthlyConsultationDTO> consultations;
+            if (centers != null && centers.size() > 1) {
+                // One sub-request per center: per-center months are disjoint sets of consultations
+                List<List<MonthlyConsultationDTO>> partials = fanOutExecutor.forEachCenter(centers,
+                        centerId -> convertMonthlyReportToConsultationDTOs(
+                                fetchMonthlyReport(token, filters, List.of(centerId))));
+                consultations = mergeMonthlyConsultations(partials);
+            } else {
+                consultations = convertMonthlyReportToConsultationDTOs(fetchMonthlyReport(token, filters, centers));
+            }
 
             // Create response
             ReportResponseDTO<MonthlyConsultationDTO> response = new ReportResponseDTO<>();
@@ -402,6 +438,62 @@ public class ReportServiceImpl implements ReportService {
         }
     }
 
+    private MonthlyReportResponseDTO fetchMonthlyReport(String token, ReportFilterRequestDTO filters, List<Long> centers) {
+        MonthlyReportRequestDTO request = createMonthlyRequest(filters);
+        request.setCentrosMedicos(centers);
+        return consultingServiceClient.getConsultationsByMonth(
+            token,
+            ConsultingServiceClient.DEFAULT_ROLE,
+            request
+        );
+    }
+
+    /**
+     * Merges per-center monthly rows by (year, month): consultation totals, revenue and per-specialty
+     * counts are added up, and the months come out in chronological order
+     */
+    private List<MonthlyConsultationDTO> mergeMonthlyConsultations(List<List<MonthlyConsultationDTO>> partials) {
+        Map<YearMonth, MonthlyConsultationDTO> months = new TreeMap<>();
+        Map<YearMonth, Map<String, MonthlyConsultationDTO.SpecialtySummary>> specialties = new HashMap<>();
+
+        for (List<MonthlyConsultationDTO> partial : partials) {
+            for (MonthlyConsultationDTO row : partial) {
+                YearMonth key = YearMonth.of(row.getYear(), row.getMonth());
+                MonthlyConsultationDTO merged = months.computeIfAbsent(key, k -> MonthlyConsultationDTO.builder()
+                        .year(k.getYear())
+                        .month(k.getMonthValue())
+                        .totalConsultations(0)
+                        .build());
+                merged.setTotalConsultations(merged.getTotalConsultations() + nullToZero(row.getTotalConsultations()));
+                if (row.getTotalRevenue() != null) {
+                    merged.setTotalRevenue((merged.getTotalRevenue() != null ? merged.getTotalRevenue() : 0.0) + row.getTotalRevenue());
+                }
+
+                Map<String, MonthlyConsultationDTO.SpecialtySummary> byName = specialties.computeIfAbsent(key, k -> new LinkedHashMap<>());
+                for (MonthlyConsultationDTO.SpecialtySummary summary : row.getSpecialties()) {
+                    MonthlyConsultationDTO.SpecialtySummary total = byName.get(summary.getSpecialtyName());
+                    if (total == null) {
+                        total = MonthlyConsultationDTO.SpecialtySummary.builder()
+                                .specialtyName(summary.getSpecialtyName())
+                                .consultationCount(0)
+                                .build();
+                        byName.put(summary.getSpecialtyName(), total);
+                        merged.getSpecialties().add(total);
+                    }
+                    total.setConsultationCount(total.getConsultationCount() + nullToZero(summary.getConsultationCount()));
+                    if (summary.getRevenue() != null) {
+                        total.setRevenue((total.getRevenue() != null ? total.getRevenue() : 0.0) + summary.getRevenue());
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(months.values());
+    }
+
+    private static int nullToZero(Integer value) {
+        return value != null ? value : 0;
+    }
+
     /**
      * Gets the current JWT token from the security context
      */
@@ -486,127 +578,6 @@ public class ReportServiceImpl implements ReportService {
             .build();
     }
     
-    /**
-     * Maps a Map<String, Object> to SpecialtyConsultationDTO
-     */
-    private SpecialtyConsultationDTO mapToSpecialtyConsultationDTO(Map<String, Object> data) {
-        return SpecialtyConsultationDTO.builder()
-            .id(convertToLong(data.get("id")))
-            .specialty((String) data.get("especialidad"))
-            .doctorName((String) data.get("nombreMedico"))
-            .patientName((String) data.get("nombrePaciente"))
-            .consultationDate(convertToLocalDateTime(data.get("fechaConsulta")))
-            .status((String) data.get("estado"))
-            .build();
-    }
-    
-    /**
-     * Maps a Map<String, Object> to DoctorConsultationDTO
-     */
-    @SuppressWarnings("unchecked")
-    private DoctorConsultationDTO mapToDoctorConsultationDTO(Map<String, Object> data) {
-        List<Map<String, Object>> consultasData = (List<Map<String, Object>>) data.get("consultas");
-        List<DoctorConsultationDTO.ConsultationDetail> consultations = new ArrayList<>();
-        
-        if (consultasData != null) {
-                consultations = consultasData.stream()
-                .map(consultaData -> {
-                    // try to fetch medical center names from possible keys
-                    String center = null;
-                    if (consultaData.get("centerName") != null) center = String.valueOf(consultaData.get("centerName"));
-                    else if (consultaData.get("nombreCentro") != null) center = String.valueOf(consultaData.get("nombreCentro"));
-                    else if (consultaData.get("centro") != null) center = String.valueOf(consultaData.get("centro"));
-                    else if (consultaData.get("centerId") != null) center = "Centro ID: " + String.valueOf(consultaData.get("centerId"));
-                    else if (consultaData.get("centroId") != null) center = "Centro ID: " + String.valueOf(consultaData.get("centroId"));
-                    else if (consultaData.get("idCentro") != null) center = "Centro ID: " + String.valueOf(consultaData.get("idCentro"));
-                    else if (consultaData.get("medicalCenterId") != null) center = "Centro ID: " + String.valueOf(consultaData.get("medicalCenterId"));
-
-                    String notes = null;
-                    if (consultaData.get("notes") != null) notes = (String) consultaData.get("notes");
-                    else if (consultaData.get("notas") != null) notes = (String) consultaData.get("notas");
-
-                    Double cost = null;
-                    Object costObj = consultaData.get("consultationCost");
-                    if (costObj == null) costObj = consultaData.get("costo");
-                    if (costObj instanceof Number) cost = ((Number) costObj).doubleValue();
-
-                    return DoctorConsultationDTO.ConsultationDetail.builder()
-                        .id(convertToLong(consultaData.get("consultaId")))
-                        .patientName((String) consultaData.get("nombrePaciente"))
-                        .consultationDate(convertToLocalDateTime(consultaData.get("fechaConsulta")))
-                        .status((String) consultaData.get("estado"))
-                        .notes(notes)
-                        .consultationCost(cost)
-                        .medicalCenter(center)
-                        .build();
-                })
-                .collect(java.util.stream.Collectors.toList());
-        }
-        
-        return DoctorConsultationDTO.builder()
-            .doctorId(convertToLong(data.get("id")))
-            .doctorName((String) data.get("nombreMedico"))
-            .specialty((String) data.get("especialidad"))
-            .totalConsultations((long) consultations.size())
-            .consultations(consultations)
-            .build();
-    }
-    
-    /**
-     * Maps a Map<String, Object> to MedicalCenterConsultationDTO
-     */
-    @SuppressWarnings("unchecked")
-    private MedicalCenterConsultationDTO mapToMedicalCenterConsultationDTO(Map<String, Object> data) {
-        List<Map<String, Object>> consultasData = (List<Map<String, Object>>) data.get("consultas");
-        List<MedicalCenterConsultationDTO.ConsultationDetail> consultations = new ArrayList<>();
-        
-        if (consultasData != null) {
-            consultations = consultasData.stream()
-                .map(consultaData -> MedicalCenterConsultationDTO.ConsultationDetail.builder()
-                    .id(convertToLong(consultaData.get("consultaId")))
-                    .doctorName((String) consultaData.get("nombreMedico"))
-                    .patientName((String) consultaData.get("nombrePaciente"))
-                    .specialty((String) consultaData.get("especialidad"))
-                    .consultationDate(convertToLocalDateTime(consultaData.get("fechaConsulta")))
-                    .status((String) consultaData.get("estado"))
-                    .build())
-                .collect(java.util.stream.Collectors.toList());
-        }
-        
-        return MedicalCenterConsultationDTO.builder()
-            .centerId(convertToLong(data.get("id")))
-            .centerName((String) data.get("nombreCentro"))
-            .address((String) data.get("direccion"))
-            .totalConsultations((long) consultations.size())
-            .consultations(consultations)
-            .build();
-    }
-    
-    /**
-     * Maps a Map<String, Object> to MonthlyConsultationDTO
-     */
-    @SuppressWarnings("unchecked")
-    private MonthlyConsultationDTO mapToMonthlyConsultationDTO(Map<String, Object> data) {
-        List<Map<String, Object>> especialidadesData = (List<Map<String, Object>>) data.get("especialidades");
-        List<MonthlyConsultationDTO.SpecialtySummary> specialties = new ArrayList<>();
-        
-        if (especialidadesData != null) {
-            specialties = especialidadesData.stream()
-                .map(espData -> MonthlyConsultationDTO.SpecialtySummary.builder()
-                    .specialtyName((String) espData.get("nombreEspecialidad"))
-                    .consultationCount((Integer) espData.get("cantidadConsultas"))
-                    .build())
-                .collect(java.util.stream.Collectors.toList());
-        }
-        
-        return MonthlyConsultationDTO.builder()
-            .year((Integer) data.get("anio"))
-            .month((Integer) data.get("mes"))
-            .totalConsultations((Integer) data.get("totalConsultas"))
-            .specialties(specialties)
-            .build();
-    }
-    
     /**
      * Generates a data summary for specialty consultations
      */
@@ -913,64 +884,6 @@ public class ReportServiceImpl implements ReportService {
             .build();
     }
     
-    /**
-     * Safely converts an Object to Long, handling Integer and Long types
-     */
-    private Long convertToLong(Object value) {
-        if (value == null) {
-            return null;
-        }
-        if (value instanceof Long) {
-            return (Long) value;
-        }
-        if (value instanceof Integer) {
-            return ((Integer) value).longValue();
-        }
-        if (value instanceof Number) {
-            return ((Number) value).longValue();
-        }
-        // Try to parse as string if it's a string representation
-        if (value instanceof String) {
-            try {
-                return Long.parseLong((String) value);
-            } catch (NumberFormatException e) {
-                return null;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Safely converts an Object to LocalDateTime, handling String and LocalDateTime types
-     */
-    private LocalDateTime convertToLocalDateTime(Object value) {
-        if (value == null) {
-            return null;
-        }
-        if (value instanceof LocalDateTime) {
-            return (LocalDateTime) value;
-        }
-        if (value instanceof String) {
-            try {
-                // Try parsing ISO format first (e.g., 2023-12-01T10:30:00)
-                return LocalDateTime.parse((String) value);
-            } catch (Exception e1) {
-                try {
-                    // Try parsing with custom format if needed
-                    return LocalDateTime.parse((String) value, DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-                } catch (Exception e2) {
-                    try {
-                        // Try parsing as ISO instant and convert to LocalDateTime
-                        return LocalDateTime.parse((String) value, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-                    } catch (Exception e3) {
-                        return null;
-                    }
-                }
-            }
-        }
-        return null;
-    }
-
     /**
      * Converts the specialized SpecialtyReportResponseDTO to a List of SpecialtyConsultationDTO
      */
@@ -1017,132 +930,93 @@ public class ReportServiceImpl implements ReportService {
     }
 
     /**
-     * Converts the specialized DoctorReportResponseDTO to a List of DoctorConsultationDTO
+     * Converts the specialized DoctorReportResponseDTO to a List of DoctorConsultationDTO.
+     * Detailed consultations are grouped by doctor in a single pass and then attached to each statistic.
      */
     private List<DoctorConsultationDTO> convertDoctorReportToConsultationDTOs(DoctorReportResponseDTO reportResponse) {
         List<DoctorConsultationDTO> result = new ArrayList<>();
 
-        if (reportResponse == null) {
+        if (reportResponse == null || reportResponse.getDoctorStatistics() == null) {
             return result;
         }
 
-        // Process doctor statistics
-        if (reportResponse.getDoctorStatistics() != null) {
-            for (DoctorReportResponseDTO.DoctorStatisticDTO stat : reportResponse.getDoctorStatistics()) {
-                // Create doctor consultation DTO
-                DoctorConsultationDTO doctorDTO = new DoctorConsultationDTO();
-
-                // Map basic fields
-                doctorDTO.setDoctorId(stat.getDoctorId());
-                doctorDTO.setDoctorName(stat.getDoctorName());
-                doctorDTO.setSpecialty(stat.getSpecialty());
-                doctorDTO.setTotalConsultations(stat.getTotalConsultations() != null ? stat.getTotalConsultations().longValue() : 0L);
-
-                // Best-effort: try to populate DNI / document number from statistic DTO via reflection
-                String dni = null;
-                try {
-                    String[] candidateGetters = new String[] {"getDocumentNumber", "getDni", "getCedula", "getDocument", "getIdentificationNumber"};
-                    for (String getter : candidateGetters) {
-                        try {
-                            java.lang.reflect.Method m = stat.getClass().getMethod(getter);
-                            Object val = m.invoke(stat);
-                            if (val != null) {
-                                dni = String.valueOf(val);
-                                break;
-                            }
-                        } catch (NoSuchMethodException ignored) {
-                        }
-                    }
-                } catch (Exception ignored) {
-                }
-
-                // Fallback to doctorId if no document number provided
-                if (dni == null || dni.isBlank()) {
-                    dni = stat.getDoctorId() != null ? String.valueOf(stat.getDoctorId()) : null;
-                }
-                doctorDTO.setDni(dni);
-
-                // Create consultation details from detailed consultations
-                List<DoctorConsultationDTO.ConsultationDetail> details = new ArrayList<>();
-
-                // If detailed consultations available, find ones for this doctor
-                if (reportResponse.getDetailedConsultations() != null) {
-                    for (DetailedConsultationDTO detail : reportResponse.getDetailedConsultations()) {
-                        // Filter consultations for current doctor (compare by name or other available keys)
-                        boolean sameDoctor = false;
-                        if (stat.getDoctorName() != null && stat.getDoctorName().equals(detail.getDoctorName())) {
-                            sameDoctor = true;
-                        }
-                        // If doctorId is available in detail (unlikely in current DTO), use it
-                        // (kept as defensive; DetailedConsultationDTO currently has no doctorId)
-
-                        if (sameDoctor) {
-                            DoctorConsultationDTO.ConsultationDetail consultDetail = new DoctorConsultationDTO.ConsultationDetail();
-                            consultDetail.setId(detail.getConsultationId());
-                            consultDetail.setPatientName(detail.getPatientName());
-                            consultDetail.setConsultationDate(detail.getConsultationDate());
-                            consultDetail.setStatus(detail.getStatus());
-                            // Populate center name, notes and diagnosis if available
-                            consultDetail.setMedicalCenter(detail.getCenterName());
-                            consultDetail.setNotes(detail.getNotes());
-                            consultDetail.setDiagnosis(detail.getDiagnosis());
-                            details.add(consultDetail);
-                        }
-                    }
+        // DetailedConsultationDTO carries no doctorId, so details are matched by doctor name
+        Map<String, List<DoctorConsultationDTO.ConsultationDetail>> detailsByDoctor = new HashMap<>();
+        if (reportResponse.getDetailedConsultations() != null) {
+            for (DetailedConsultationDTO detail : reportResponse.getDetailedConsultations()) {
+                if (detail.getDoctorName() == null) {
+                    continue;
                 }
-
-                doctorDTO.setConsultations(details);
-                result.add(doctorDTO);
+                detailsByDoctor.computeIfAbsent(detail.getDoctorName(), k -> new ArrayList<>())
+                        .add(DoctorConsultationDTO.ConsultationDetail.builder()
+                                .id(detail.getConsultationId())
+                                .patientName(detail.getPatientName())
+                                .consultationDate(detail.getConsultationDate())
+                                .status(detail.getStatus())
+                                .medicalCenter(detail.getCenterName())
+                                .notes(detail.getNotes())
+                                .diagnosis(detail.getDiagnosis())
+                                .build());
             }
         }
 
+        for (DoctorReportResponseDTO.DoctorStatisticDTO stat : reportResponse.getDoctorStatistics()) {
+            DoctorConsultationDTO doctorDTO = new DoctorConsultationDTO();
+            doctorDTO.setDoctorId(stat.getDoctorId());
+            doctorDTO.setDoctorName(stat.getDoctorName());
+            doctorDTO.setSpecialty(stat.getSpecialty());
+            doctorDTO.setTotalConsultations(stat.getTotalConsultations() != null ? stat.getTotalConsultations().longValue() : 0L);
+            // consulting-service does not expose the document number, the doctor id is used instead
+            doctorDTO.setDni(stat.getDoctorId() != null ? String.valueOf(stat.getDoctorId()) : null);
+            doctorDTO.setConsultations(stat.getDoctorName() != null
+                    ? detailsByDoctor.getOrDefault(stat.getDoctorName(), new ArrayList<>())
+                    : new ArrayList<>());
+            result.add(doctorDTO);
+        }
+
         return result;
     }
 
     /**
-     * Converts the specialized MedicalCenterReportResponseDTO to a List of MedicalCenterConsultationDTO
+     * Converts the specialized MedicalCenterReportResponseDTO to a List of MedicalCenterConsultationDTO.
+     * Detailed consultations are grouped by center in a single pass and then attached to each statistic.
      */
     private List<MedicalCenterConsultationDTO> convertMedicalCenterReportToConsultationDTOs(MedicalCenterReportResponseDTO reportResponse) {
         List<MedicalCenterConsultationDTO> result = new ArrayList<>();
 
-        if (reportResponse == null) {
+        if (reportResponse == null || reportResponse.getCenterStatistics() == null) {
             return result;
         }
 
-        // Process center statistics
-        if (reportResponse.getCenterStatistics() != null) {
-            for (MedicalCenterReportResponseDTO.MedicalCenterStatisticDTO stat : reportResponse.getCenterStatistics()) {
-                // Create medical center consultation DTO
-                MedicalCenterConsultationDTO centerDTO = new MedicalCenterConsultationDTO();
-                centerDTO.setCenterId(stat.getCenterId());
-                centerDTO.setCenterName(stat.getCenterName());
-                centerDTO.setTotalConsultations((long) stat.getTotalConsultations());
-
-                // Create consultation details from detailed consultations
-                List<MedicalCenterConsultationDTO.ConsultationDetail> details = new ArrayList<>();
-
-                // If detailed consultations available, find ones for this center
-                if (reportResponse.getDetailedConsultations() != null) {
-                    for (DetailedConsultationDTO detail : reportResponse.getDetailedConsultations()) {
-                        // Filter consultations for current center
-                        if (stat.getCenterName().equals(detail.getCenterName())) {
-                            MedicalCenterConsultationDTO.ConsultationDetail consultDetail = new MedicalCenterConsultationDTO.ConsultationDetail();
-                            consultDetail.setId(detail.getConsultationId());
-                            consultDetail.setDoctorName(detail.getDoctorName());
-                            consultDetail.setPatientName(detail.getPatientName());
-                            consultDetail.setSpecialty(detail.getSpecialty());
-                            consultDetail.setConsultationDate(detail.getConsultationDate());
-                            consultDetail.setStatus(detail.getStatus());
-                            details.add(consultDetail);
-                        }
-                    }
+        Map<String, List<MedicalCenterConsultationDTO.ConsultationDetail>> detailsByCenter = new HashMap<>();
+        if (reportResponse.getDetailedConsultations() != null) {
+            for (DetailedConsultationDTO detail : reportResponse.getDetailedConsultations()) {
+                if (detail.getCenterName() == null) {
+                    continue;
                 }
-
-                centerDTO.setConsultations(details);
-                result.add(centerDTO);
+                detailsByCenter.computeIfAbsent(detail.getCenterName(), k -> new ArrayList<>())
+                        .add(MedicalCenterConsultationDTO.ConsultationDetail.builder()
+                                .id(detail.getConsultationId())
+                                .doctorName(detail.getDoctorName())
+                                .patientName(detail.getPatientName())
+                                .specialty(detail.getSpecialty())
+                                .consultationDate(detail.getConsultationDate())
+                                .status(detail.getStatus())
+                                .build());
             }
         }
 
+        for (MedicalCenterReportResponseDTO.MedicalCenterStatisticDTO stat : reportResponse.getCenterStatistics()) {
+            MedicalCenterConsultationDTO centerDTO = new MedicalCenterConsultationDTO();
+            centerDTO.setCenterId(stat.getCenterId());
+            centerDTO.setCenterName(stat.getCenterName());
+            centerDTO.setTotalConsultations(stat.getTotalConsultations() != null ? stat.getTotalConsultations().longValue() : 0L);
+            centerDTO.setConsultations(stat.getCenterName() != null
+                    ? detailsByCenter.getOrDefault(stat.getCenterName(), new ArrayList<>())
+                    : new ArrayList<>());
+            result.add(centerDTO);
+        }
+
         return result;
     }
 
@@ -0,0 +1,404 @@
+package com.drtx.jdit.reportservice.utils;
+
+import com.drtx.jdit.reportservice.dto.ReportResponseDTO;
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMilliVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.parquet.conf.ParquetConfiguration;
+import org.apache.parquet.conf.PlainParquetConfiguration;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.PositionOutputStream;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Types;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utility for exporting reports to columnar formats (Parquet and Arrow IPC) for analytics consumers.
+ * Values are written straight from the report DTOs into typed columns in batches,
+ * so ids stay int64 and dates stay timestamps instead of being re-parsed from text.
+ */
+@Component
+public class ColumnarExportUtil {
+
+    private static final String WRITER_NAME = "hospital-report-service";
+
+    private final int batchSize;
+    private final long rowGroupSize;
+
+    public ColumnarExportUtil(@Value("${reports.columnar.batch-size:4096}") int batchSize,
+                              @Value("${reports.columnar.row-group-size:8MB}") DataSize rowGroupSize) {
+        this.batchSize = batchSize;
+        this.rowGroupSize = rowGroupSize.toBytes();
+    }
+
+    /**
+     * Exports a report to Parquet format (ZSTD compressed)
+     * @param <T> data type of the report
+     * @param report the report to export
+     * @return byte array with Parquet content
+     */
+    public <T> byte[] exportToParquet(ReportResponseDTO<T> report) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writeParquet(report, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Streams a report in Parquet format (ZSTD compressed) to the given output.
+     * Row groups are capped at {@code reports.columnar.row-group-size} (8 MB by default, instead of the
+     * writer's 128 MB) and flushed as they fill, so at most one row group of a report is buffered.
+     * @param <T> data type of the report
+     * @param report the report to export
+     * @param out destination of the Parquet content; it is not closed
+     */
+    public <T> void writeParquet(ReportResponseDTO<T> report, OutputStream out) {
+        List<T> data = report.getData() != null ? report.getData() : Collections.emptyList();
+        ColumnarReportLayout layout = ColumnarReportLayout.forData(data);
+        List<ColumnarReportLayout.Column> columns = layout.getColumns();
+
+        try (ParquetWriter<ColumnarReportLayout.Cursor> writer = new CursorParquetWriterBuilder(new StreamOutputFile(out), columns)
+                .withConf(new PlainParquetConfiguration())
+                .withCompressionCodec(CompressionCodecName.ZSTD)
+                .withPageRowCountLimit(batchSize)
+                .withRowGroupSize(rowGroupSize)
+                .build()) {
+
+            layout.forEachRow(data, cursor -> {
+                try {
+                    writer.write(cursor);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Error al generar el archivo Parquet", e);
+        }
+    }
+
+    /**
+     * Exports a report to Arrow IPC file format (ZSTD compressed record batches)
+     * @param <T> data type of the report
+     * @param report the report to export
+     * @return byte array with Arrow IPC content
+     */
+    public <T> byte[] exportToArrow(ReportResponseDTO<T> report) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writeArrow(report, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Streams a report in Arrow IPC file format (ZSTD compressed record batches) to the given output.
+     * Each record batch is written as soon as it fills.
+     * @param <T> data type of the report
+     * @param report the report to export
+     * @param out destination of the Arrow content; it is not closed
+     */
+    public <T> void writeArrow(ReportResponseDTO<T> report, OutputStream out) {
+        List<T> data = report.getData() != null ? report.getData() : Collections.emptyList();
+        ColumnarReportLayout layout = ColumnarReportLayout.forData(data);
+        List<ColumnarReportLayout.Column> columns = layout.getColumns();
+
+        try (BufferAllocator allocator = new RootAllocator();
+             VectorSchemaRoot root = VectorSchemaRoot.create(toArrowSchema(columns), allocator);
+             ArrowFileWriter writer = new ArrowFileWriter(root, null, Channels.newChannel(new NonClosingOutputStream(out)),
+                     Map.of("writer", WRITER_NAME), IpcOption.DEFAULT,
+                     CommonsCompressionFactory.INSTANCE, CompressionUtil.CodecType.ZSTD)) {
+
+            writer.start();
+            ArrowBatchWriter batchWriter = new ArrowBatchWriter(root, writer, columns);
+            layout.forEachRow(data, batchWriter::append);
+            batchWriter.flush();
+            writer.end();
+        } catch (Exception e) {
+            throw new RuntimeException("Error al generar el archivo Arrow", e);
+        }
+    }
+
+    private Schema toArrowSchema(List<ColumnarReportLayout.Column> columns) {
+        List<Field> fields = new ArrayList<>(columns.size());
+        for (ColumnarReportLayout.Column column : columns) {
+            ArrowType type = switch (column.type()) {
+                case INT32 -> new ArrowType.Int(32, true);
+                case INT64 -> new ArrowType.Int(64, true);
+                case TIMESTAMP -> new ArrowType.Timestamp(TimeUnit.MILLISECOND, null);
+                case STRING -> ArrowType.Utf8.INSTANCE;
+            };
+            fields.add(new Field(column.name(), FieldType.nullable(type), null));
+        }
+        return new Schema(fields);
+    }
+
+    private MessageType toParquetSchema(List<ColumnarReportLayout.Column> columns) {
+        Types.MessageTypeBuilder builder = Types.buildMessage();
+        for (ColumnarReportLayout.Column column : columns) {
+            switch (column.type()) {
+                case INT32 -> builder.optional(PrimitiveType.PrimitiveTypeName.INT32).named(column.name());
+                case INT64 -> builder.optional(PrimitiveType.PrimitiveTypeName.INT64).named(column.name());
+                case TIMESTAMP -> builder.optional(PrimitiveType.PrimitiveTypeName.INT64)
+                        .as(LogicalTypeAnnotation.timestampType(false, LogicalTypeAnnotation.TimeUnit.MILLIS))
+                        .named(column.name());
+                case STRING -> builder.optional(PrimitiveType.PrimitiveTypeName.BINARY)
+                        .as(LogicalTypeAnnotation.stringType())
+                        .named(column.name());
+            }
+        }
+        return builder.named("report");
+    }
+
+    /**
+     * Fills the Arrow vectors row by row and emits a record batch every {@code batchSize} rows
+     */
+    private final class ArrowBatchWriter {
+        private final VectorSchemaRoot root;
+        private final ArrowFileWriter writer;
+        private final List<ColumnarReportLayout.Column> columns;
+        private final List<FieldVector> vectors;
+        private int rowIndex = 0;
+
+        private ArrowBatchWriter(VectorSchemaRoot root, ArrowFileWriter writer, List<ColumnarReportLayout.Column> columns) {
+            this.root = root;
+            this.writer = writer;
+            this.columns = columns;
+            this.vectors = root.getFieldVectors();
+            allocate();
+        }
+
+        private void allocate() {
+            for (FieldVector vector : vectors) {
+                vector.setInitialCapacity(batchSize);
+                vector.allocateNew();
+            }
+        }
+
+        private void append(ColumnarReportLayout.Cursor cursor) {
+            for (int i = 0; i < columns.size(); i++) {
+                setValue(vectors.get(i), columns.get(i).type(), columns.get(i).read(cursor));
+            }
+            rowIndex++;
+            if (rowIndex == batchSize) {
+                flush();
+                allocate();
+            }
+        }
+
+        private void setValue(FieldVector vector, ColumnarReportLayout.ColumnType type, Object value) {
+            if (value == null) {
+                vector.setNull(rowIndex);
+                return;
+            }
+            switch (type) {
+                case INT32 -> ((IntVector) vector).setSafe(rowIndex, ((Number) value).intValue());
+                case INT64 -> ((BigIntVector) vector).setSafe(rowIndex, ((Number) value).longValue());
+                case TIMESTAMP -> ((TimeStampMilliVector) vector).setSafe(rowIndex,
+                        ColumnarReportLayout.toEpochMillis((LocalDateTime) value));
+                case STRING -> ((VarCharVector) vector).setSafe(rowIndex, value.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        private void flush() {
+            if (rowIndex == 0) {
+                return;
+            }
+            try {
+                root.setRowCount(rowIndex);
+                writer.writeBatch();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            rowIndex = 0;
+        }
+    }
+
+    /**
+     * Writes each cursor position straight to the Parquet record consumer
+     */
+    private final class CursorWriteSupport extends WriteSupport<ColumnarReportLayout.Cursor> {
+        private final List<ColumnarReportLayout.Column> columns;
+        private RecordConsumer recordConsumer;
+
+        private CursorWriteSupport(List<ColumnarReportLayout.Column> columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public WriteContext init(ParquetConfiguration configuration) {
+            return new WriteContext(toParquetSchema(columns), Map.of("writer", WRITER_NAME));
+        }
+
+        // Abstract in parquet-hadoop 1.15; never called because the builder is given a PlainParquetConfiguration
+        @Override
+        @SuppressWarnings("deprecation")
+        public WriteContext init(org.apache.hadoop.conf.Configuration configuration) {
+            return new WriteContext(toParquetSchema(columns), Map.of("writer", WRITER_NAME));
+        }
+
+        @Override
+        public void prepareForWrite(RecordConsumer recordConsumer) {
+            this.recordConsumer = recordConsumer;
+        }
+
+        @Override
+        public void write(ColumnarReportLayout.Cursor cursor) {
+            recordConsumer.startMessage();
+            for (int i = 0; i < columns.size(); i++) {
+                ColumnarReportLayout.Column column = columns.get(i);
+                Object value = column.read(cursor);
+                if (value == null) {
+                    continue;
+                }
+                recordConsumer.startField(column.name(), i);
+                switch (column.type()) {
+                    case INT32 -> recordConsumer.addInteger(((Number) value).intValue());
+                    case INT64 -> recordConsumer.addLong(((Number) value).longValue());
+                    case TIMESTAMP -> recordConsumer.addLong(ColumnarReportLayout.toEpochMillis((LocalDateTime) value));
+                    case STRING -> recordConsumer.addBinary(Binary.fromString(value.toString()));
+                }
+                recordConsumer.endField(column.name(), i);
+            }
+            recordConsumer.endMessage();
+        }
+    }
+
+    private final class CursorParquetWriterBuilder
+            extends ParquetWriter.Builder<ColumnarReportLayout.Cursor, CursorParquetWriterBuilder> {
+        private final List<ColumnarReportLayout.Column> columns;
+
+        private CursorParquetWriterBuilder(OutputFile file, List<ColumnarReportLayout.Column> columns) {
+            super(file);
+            this.columns = columns;
+        }
+
+        @Override
+        protected CursorParquetWriterBuilder self() {
+            return this;
+        }
+
+        @Override
+        protected WriteSupport<ColumnarReportLayout.Cursor> getWriteSupport(ParquetConfiguration conf) {
+            return new CursorWriteSupport(columns);
+        }
+
+        // Abstract in parquet-hadoop 1.15; the Hadoop-free overload above is the one used
+        @Override
+        @SuppressWarnings("deprecation")
+        protected WriteSupport<ColumnarReportLayout.Cursor> getWriteSupport(org.apache.hadoop.conf.Configuration conf) {
+            return new CursorWriteSupport(columns);
+        }
+    }
+
+    /**
+     * Parquet output file over any output stream (no Hadoop filesystem involved)
+     */
+    private static final class StreamOutputFile implements OutputFile {
+        private final OutputStream target;
+
+        private StreamOutputFile(OutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public PositionOutputStream create(long blockSizeHint) {
+            return createOrOverwrite(blockSizeHint);
+        }
+
+        @Override
+        public PositionOutputStream createOrOverwrite(long blockSizeHint) {
+            return new PositionOutputStream() {
+                private long position = 0;
+
+                @Override
+                public long getPos() {
+                    return position;
+                }
+
+                @Override
+                public void write(int b) throws IOException {
+                    target.write(b);
+                    position++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    target.write(b, off, len);
+                    position += len;
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    target.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    // The caller owns the target stream
+                    target.flush();
+                }
+            };
+        }
+
+        @Override
+        public boolean supportsBlockSize() {
+            return false;
+        }
+
+        @Override
+        public long defaultBlockSize() {
+            return 0;
+        }
+    }
+
+    /**
+     * Keeps the Arrow writer from closing the caller's stream when it closes its channel
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+        private NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.drtx.jdit.reportservice.utils;
+
+import com.drtx.jdit.reportservice.dto.DoctorConsultationDTO;
+import com.drtx.jdit.reportservice.dto.MedicalCenterConsultationDTO;
+import com.drtx.jdit.reportservice.dto.MonthlyConsultationDTO;
+import com.drtx.jdit.reportservice.dto.SpecialtyConsultationDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Typed column layout used by the columnar exporters (Parquet and Arrow).
+ * Each report type is flattened to one row per consultation; rows are visited through
+ * a single reusable {@link Cursor} so no intermediate row objects are built.
+ */
+final class ColumnarReportLayout {
+
+    /**
+     * Physical type of a column
+     */
+    enum ColumnType {
+        INT32,
+        INT64,
+        TIMESTAMP,
+        STRING
+    }
+
+    /**
+     * A named, typed column and how to read its value from the current cursor position
+     */
+    record Column(String name, ColumnType type, Function<Cursor, Object> getter) {
+
+        Object read(Cursor cursor) {
+            return getter.apply(cursor);
+        }
+    }
+
+    /**
+     * Mutable position over the report data: the top-level DTO and, for nested reports,
+     * the consultation detail currently being visited
+     */
+    static final class Cursor {
+        private Object parent;
+        private Object child;
+
+        @SuppressWarnings("unchecked")
+        <T> T parent() {
+            return (T) parent;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T child() {
+            return (T) child;
+        }
+
+        private Cursor at(Object parent, Object child) {
+            this.parent = parent;
+            this.child = child;
+            return this;
+        }
+    }
+
+    private final List<Column> columns;
+    private final RowVisitor visitor;
+
+    private ColumnarReportLayout(List<Column> columns, RowVisitor visitor) {
+        this.columns = columns;
+        this.visitor = visitor;
+    }
+
+    List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Visits every flattened row of the report, reusing the same cursor instance
+     */
+    void forEachRow(List<?> data, Consumer<Cursor> sink) {
+        visitor.visit(data, new Cursor(), sink);
+    }
+
+    /**
+     * Resolves the layout from the type of the first element of the report data
+     */
+    static ColumnarReportLayout forData(List<?> data) {
+        if (data == null || data.isEmpty()) {
+            return EMPTY;
+        }
+        Object first = data.get(0);
+        if (first instanceof DoctorConsultationDTO) {
+            return DOCTOR;
+        }
+        if (first instanceof MedicalCenterConsultationDTO) {
+            return MEDICAL_CENTER;
+        }
+        if (first instanceof MonthlyConsultationDTO) {
+            return MONTHLY;
+        }
+        if (first instanceof SpecialtyConsultationDTO) {
+            return SPECIALTY;
+        }
+        throw new IllegalArgumentException("Unsupported report data type for columnar export: " + first.getClass().getSimpleName());
+    }
+
+    @FunctionalInterface
+    private interface RowVisitor {
+        void visit(List<?> data, Cursor cursor, Consumer<Cursor> sink);
+    }
+
+    private static final RowVisitor FLAT = (data, cursor, sink) -> {
+        for (Object item : data) {
+            sink.accept(cursor.at(item, null));
+        }
+    };
+
+    // Empty reports still produce a valid file with a single (empty) column
+    private static final ColumnarReportLayout EMPTY = new ColumnarReportLayout(List.of(
+            new Column("consultation_id", ColumnType.INT64, c -> null)
+    ), FLAT);
+
+    private static final ColumnarReportLayout SPECIALTY = new ColumnarReportLayout(List.of(
+            new Column("consultation_id", ColumnType.INT64, c -> c.<SpecialtyConsultationDTO>parent().getId()),
+            new Column("specialty", ColumnType.STRING, c -> c.<SpecialtyConsultationDTO>parent().getSpecialty()),
+            new Column("doctor_name", ColumnType.STRING, c -> c.<SpecialtyConsultationDTO>parent().getDoctorName()),
+            new Column("patient_name", ColumnType.STRING, c -> c.<SpecialtyConsultationDTO>parent().getPatientName()),
+            new Column("consultation_date", ColumnType.TIMESTAMP, c -> c.<SpecialtyConsultationDTO>parent().getConsultationDate()),
+            new Column("status", ColumnType.STRING, c -> c.<SpecialtyConsultationDTO>parent().getStatus()),
+            new Column("medical_center", ColumnType.STRING, c -> c.<SpecialtyConsultationDTO>parent().getMedicalCenter()),
+            new Column("notes", ColumnType.STRING, c -> c.<SpecialtyConsultationDTO>parent().getNotes()),
+            new Column("total_consultations", ColumnType.INT64, c -> c.<SpecialtyConsultationDTO>parent().getTotalConsultations())
+    ), FLAT);
+
+    private static final ColumnarReportLayout DOCTOR = new ColumnarReportLayout(List.of(
+            new Column("doctor_id", ColumnType.INT64, c -> c.<DoctorConsultationDTO>parent().getDoctorId()),
+            new Column("doctor_name", ColumnType.STRING, c -> c.<DoctorConsultationDTO>parent().getDoctorName()),
+            new Column("specialty", ColumnType.STRING, c -> c.<DoctorConsultationDTO>parent().getSpecialty()),
+            new Column("consultation_id", ColumnType.INT64, c -> c.<DoctorConsultationDTO.ConsultationDetail>child().getId()),
+            new Column("patient_name", ColumnType.STRING, c -> c.<DoctorConsultationDTO.ConsultationDetail>child().getPatientName()),
+            new Column("consultation_date", ColumnType.TIMESTAMP, c -> c.<DoctorConsultationDTO.ConsultationDetail>child().getConsultationDate()),
+            new Column("status", ColumnType.STRING, c -> c.<DoctorConsultationDTO.ConsultationDetail>child().getStatus()),
+            new Column("medical_center", ColumnType.STRING, c -> c.<DoctorConsultationDTO.ConsultationDetail>child().getMedicalCenter()),
+            new Column("diagnosis", ColumnType.STRING, c -> c.<DoctorConsultationDTO.ConsultationDetail>child().getDiagnosis()),
+            new Column("notes", ColumnType.STRING, c -> c.<DoctorConsultationDTO.ConsultationDetail>child().getNotes())
+    ), (data, cursor, sink) -> {
+        for (Object item : data) {
+            DoctorConsultationDTO doctor = (DoctorConsultationDTO) item;
+            if (doctor.getConsultations() == null) {
+                continue;
+            }
+            for (DoctorConsultationDTO.ConsultationDetail detail : doctor.getConsultations()) {
+                sink.accept(cursor.at(doctor, detail));
+            }
+        }
+    });
+
+    private static final ColumnarReportLayout MEDICAL_CENTER = new ColumnarReportLayout(List.of(
+            new Column("center_id", ColumnType.INT64, c -> c.<MedicalCenterConsultationDTO>parent().getCenterId()),
+            new Column("center_name", ColumnType.STRING, c -> c.<MedicalCenterConsultationDTO>parent().getCenterName()),
+            new Column("consultation_id", ColumnType.INT64, c -> c.<MedicalCenterConsultationDTO.ConsultationDetail>child().getId()),
+            new Column("doctor_name", ColumnType.STRING, c -> c.<MedicalCenterConsultationDTO.ConsultationDetail>child().getDoctorName()),
+            new Column("patient_name", ColumnType.STRING, c -> c.<MedicalCenterConsultationDTO.ConsultationDetail>child().getPatientName()),
+            new Column("specialty", ColumnType.STRING, c -> c.<MedicalCenterConsultationDTO.ConsultationDetail>child().getSpecialty()),
+            new Column("consultation_date", ColumnType.TIMESTAMP, c -> c.<MedicalCenterConsultationDTO.ConsultationDetail>child().getConsultationDate()),
+            new Column("status", ColumnType.STRING, c -> c.<MedicalCenterConsultationDTO.ConsultationDetail>child().getStatus())
+    ), (data, cursor, sink) -> {
+        for (Object item : data) {
+            MedicalCenterConsultationDTO center = (MedicalCenterConsultationDTO) item;
+            if (center.getConsultations() == null) {
+                continue;
+            }
+            for (MedicalCenterConsultationDTO.ConsultationDetail detail : center.getConsultations()) {
+                sink.accept(cursor.at(center, detail));
+            }
+        }
+    });
+
+    private static final ColumnarReportLayout MONTHLY = new ColumnarReportLayout(List.of(
+            new Column("year", ColumnType.INT32, c -> c.<MonthlyConsultationDTO>parent().getYear()),
+            new Column("month", ColumnType.INT32, c -> c.<MonthlyConsultationDTO>parent().getMonth()),
+            new Column("total_consultations", ColumnType.INT64, c -> {
+                Integer total = c.<MonthlyConsultationDTO>parent().getTotalConsultations();
+                return total != null ? total.longValue() : null;
+            })
+    ), FLAT);
+
+    /**
+     * Converts a local date-time to epoch milliseconds without applying any zone offset,
+     * matching the "local timestamp" semantics of both Parquet and Arrow
+     */
+    static long toEpochMillis(LocalDateTime value) {
+        return value.toInstant(java.time.ZoneOffset.UTC).toEpochMilli();
+    }
+}
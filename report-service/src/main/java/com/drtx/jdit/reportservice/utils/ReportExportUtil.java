@@ -2,24 +2,40 @@ package com.drtx.jdit.reportservice.utils;
 
 import com.drtx.jdit.reportservice.dto.ReportResponseDTO;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.utils.PdfMerger;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.element.AreaBreak;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
+import com.itextpdf.layout.properties.VerticalAlignment;
+import jakarta.annotation.PreDestroy;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Field;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import com.drtx.jdit.reportservice.dto.DoctorConsultationDTO;
 
 /**
@@ -29,9 +45,26 @@ import com.drtx.jdit.reportservice.dto.DoctorConsultationDTO;
 public class ReportExportUtil {
 
     private final ObjectMapper objectMapper;
-    
-    public ReportExportUtil(ObjectMapper objectMapper) {
+    private final ExecutorService pdfRenderExecutor;
+    private final int pdfParallelThreshold;
+    private final int pdfSectionRows;
+
+    public ReportExportUtil(ObjectMapper objectMapper,
+                            @Value("${reports.pdf.render-concurrency:0}") int renderConcurrency,
+                            @Value("${reports.pdf.parallel-threshold:400}") int parallelThreshold,
+                            @Value("${reports.pdf.section-rows:200}") int sectionRows) {
         this.objectMapper = objectMapper;
+        this.pdfParallelThreshold = parallelThreshold;
+        // Even chunk sizes keep the alternating row colors continuous across sections
+        this.pdfSectionRows = Math.max(2, sectionRows + (sectionRows % 2));
+
+        int threads = renderConcurrency > 0 ? renderConcurrency : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.pdfRenderExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "report-pdf-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
     
     /**
@@ -278,45 +311,181 @@ public class ReportExportUtil {
     }
     
     /**
-     * Exports a report to PDF format with professional enterprise layout
+     * Exports a report to PDF format with professional enterprise layout.
+     * Reports above the parallel threshold are rendered as independent section documents
+     * on the render pool and merged; both paths number the pages at the end.
      * @param <T> data type of the report
      * @param report the report to export
      * @param reportTitle title of the report
      * @return byte array with PDF content
      */
     public <T> byte[] exportToPdf(ReportResponseDTO<T> report, String reportTitle) {
-    try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-        
-        PdfWriter writer = new PdfWriter(outputStream);
-        PdfDocument pdfDoc = new PdfDocument(writer);
-        Document document = new Document(pdfDoc);
-        
-        // === HEADER SECTION ===
-        addProfessionalHeader(document, reportTitle);
-        
-        // === EXECUTIVE SUMMARY ===
-        addExecutiveSummary(document, report);
-        
-        // === DATA TABLE ===
-        addDataTable(document, report);
-        
-        // === ANALÍTICA Y CONCLUSIONES ===
-        if (report.getAdditionalData() != null) {
-            document.add(new AreaBreak());
-            addAnalyticsSection(document, report.getAdditionalData());
+        List<List<T>> chunks = splitForPdf(report.getData());
+        if (chunks.size() > 1) {
+            return exportToPdfInSections(report, reportTitle, chunks);
+        }
+
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+
+            PdfWriter writer = new PdfWriter(outputStream);
+            PdfDocument pdfDoc = new PdfDocument(writer);
+            // Pages stay open until close so the page numbers can be stamped once the total is known
+            Document document = new Document(pdfDoc, pdfDoc.getDefaultPageSize(), false);
+
+            // === HEADER SECTION ===
+            addProfessionalHeader(document, reportTitle);
+
+            // === EXECUTIVE SUMMARY ===
+            addExecutiveSummary(document, report);
+
+            // === DATA TABLE ===
+            addDataTable(document, report.getData(), true);
+
+            // === ANALÍTICA Y CONCLUSIONES ===
+            if (report.getAdditionalData() != null) {
+                document.add(new AreaBreak());
+                addAnalyticsSection(document, report.getAdditionalData());
+            }
+
+            // === FOOTER ===
+            addProfessionalFooter(document, report);
+
+            addPageNumbers(document);
+            document.close();
+            return outputStream.toByteArray();
+
+        } catch (Exception e) {
+            throw new RuntimeException("Error generating professional PDF report", e);
         }
-        
-        // === FOOTER ===
-        addProfessionalFooter(document, report);
-        
-        document.close();
-        return outputStream.toByteArray();
-        
-    } catch (Exception e) {
-        throw new RuntimeException("Error generating professional PDF report", e);
     }
-}
-    
+
+    /**
+     * Renders every section as its own document concurrently and merges them in order.
+     * The first section keeps the header, summary and table title; analytics and footer go last.
+     */
+    private <T> byte[] exportToPdfInSections(ReportResponseDTO<T> report, String reportTitle, List<List<T>> chunks) {
+        boolean separateAnalytics = report.getAdditionalData() != null;
+        List<CompletableFuture<byte[]>> sections = new ArrayList<>(chunks.size() + 1);
+
+        for (int i = 0; i < chunks.size(); i++) {
+            final boolean first = i == 0;
+            final boolean last = i == chunks.size() - 1;
+            final List<T> chunk = chunks.get(i);
+            sections.add(CompletableFuture.supplyAsync(() -> renderSection(document -> {
+                if (first) {
+                    addProfessionalHeader(document, reportTitle);
+                    addExecutiveSummary(document, report);
+                }
+                addDataTable(document, chunk, first);
+                if (last && !separateAnalytics) {
+                    addProfessionalFooter(document, report);
+                }
+            }), pdfRenderExecutor));
+        }
+
+        if (separateAnalytics) {
+            // The analytics section always started on a new page, so it is a natural section boundary
+            sections.add(CompletableFuture.supplyAsync(() -> renderSection(document -> {
+                addAnalyticsSection(document, report.getAdditionalData());
+                addProfessionalFooter(document, report);
+            }), pdfRenderExecutor));
+        }
+
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            PdfDocument merged = new PdfDocument(new PdfWriter(outputStream));
+            PdfMerger merger = new PdfMerger(merged);
+            for (CompletableFuture<byte[]> section : sections) {
+                try (PdfDocument source = new PdfDocument(new PdfReader(new ByteArrayInputStream(section.join())))) {
+                    merger.merge(source, 1, source.getNumberOfPages());
+                }
+            }
+
+            Document document = new Document(merged);
+            addPageNumbers(document);
+            document.close();
+            return outputStream.toByteArray();
+
+        } catch (Exception e) {
+            sections.forEach(section -> section.cancel(true));
+            throw new RuntimeException("Error generating professional PDF report", e);
+        }
+    }
+
+    private byte[] renderSection(Consumer<Document> content) {
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            Document document = new Document(new PdfDocument(new PdfWriter(outputStream)));
+            content.accept(document);
+            document.close();
+            return outputStream.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Splits the report rows into section chunks. Specialty rows are packed by whole specialty group
+     * so group totals stay correct; a single-doctor report is one table and is never split.
+     */
+    private <T> List<List<T>> splitForPdf(List<T> data) {
+        if (data == null || data.size() <= pdfParallelThreshold) {
+            return List.of(data != null ? data : List.of());
+        }
+        if (data.get(0) instanceof DoctorConsultationDTO doctor
+                && doctor.getConsultations() != null && !doctor.getConsultations().isEmpty()) {
+            return List.of(data);
+        }
+
+        List<List<T>> groups = new ArrayList<>();
+        if (data.get(0) instanceof com.drtx.jdit.reportservice.dto.SpecialtyConsultationDTO) {
+            // Same grouping order as the specialty table: first appearance of each specialty
+            Map<String, List<T>> bySpecialty = new LinkedHashMap<>();
+            for (T item : data) {
+                com.drtx.jdit.reportservice.dto.SpecialtyConsultationDTO s = (com.drtx.jdit.reportservice.dto.SpecialtyConsultationDTO) item;
+                String key = s.getSpecialty() != null ? s.getSpecialty() : "Sin Especialidad";
+                bySpecialty.computeIfAbsent(key, k -> new ArrayList<>()).add(item);
+            }
+            groups.addAll(bySpecialty.values());
+        } else {
+            for (T item : data) {
+                groups.add(List.of(item));
+            }
+        }
+
+        List<List<T>> chunks = new ArrayList<>();
+        List<T> current = new ArrayList<>();
+        for (List<T> group : groups) {
+            if (!current.isEmpty() && current.size() + group.size() > pdfSectionRows) {
+                chunks.add(current);
+                current = new ArrayList<>();
+            }
+            current.addAll(group);
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    /**
+     * Stamps "Página X de N" on every page once the final page count is known
+     */
+    private void addPageNumbers(Document document) {
+        PdfDocument pdfDoc = document.getPdfDocument();
+        int totalPages = pdfDoc.getNumberOfPages();
+        for (int page = 1; page <= totalPages; page++) {
+            Rectangle pageSize = pdfDoc.getPage(page).getPageSize();
+            document.showTextAligned(new Paragraph("Página " + page + " de " + totalPages)
+                            .setFontSize(8)
+                            .setFontColor(com.itextpdf.kernel.colors.ColorConstants.GRAY),
+                    pageSize.getWidth() / 2, 20, page, TextAlignment.CENTER, VerticalAlignment.BOTTOM, 0);
+        }
+    }
+
+    @PreDestroy
+    void shutdownPdfRenderExecutor() {
+        pdfRenderExecutor.shutdownNow();
+    }
+
     /**
      * Adds professional header with company branding
      */
@@ -466,8 +635,7 @@ public class ReportExportUtil {
     }
     
 
-    private <T> void addDataTable(Document document, ReportResponseDTO<T> report) {
-        List<T> data = report.getData();
+    private <T> void addDataTable(Document document, List<T> data, boolean withTitle) {
         if (data == null || data.isEmpty()) {
             Paragraph noData = new Paragraph("No hay datos disponibles para los criterios especificados.")
                     .setTextAlignment(TextAlignment.CENTER)
@@ -478,14 +646,16 @@ public class ReportExportUtil {
             return;
         }
 
-        // Section title in Spanish
-        Paragraph dataTitle = new Paragraph("ANÁLISIS DETALLADO DE DATOS")
-                .setFontSize(14)
-                .setBold()
-                .setFontColor(com.itextpdf.kernel.colors.ColorConstants.BLACK)
-                .setMarginTop(20)
-                .setMarginBottom(15);
-        document.add(dataTitle);
+        // Section title in Spanish (only once when the table is split into sections)
+        if (withTitle) {
+            Paragraph dataTitle = new Paragraph("ANÁLISIS DETALLADO DE DATOS")
+                    .setFontSize(14)
+                    .setBold()
+                    .setFontColor(com.itextpdf.kernel.colors.ColorConstants.BLACK)
+                    .setMarginTop(20)
+                    .setMarginBottom(15);
+            document.add(dataTitle);
+        }
 
         // If this is a doctor report for a single doctor, render a doctor-specific layout
         if (!data.isEmpty() && data.get(0) instanceof DoctorConsultationDTO) {